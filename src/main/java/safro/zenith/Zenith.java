@@ -29,6 +29,7 @@ import safro.zenith.advancements.AdvancementTriggers;
 import safro.zenith.api.RunnableReloader;
 import safro.zenith.api.config.Configuration;
 import safro.zenith.api.event.ServerEvents;
+import safro.zenith.api.event.TaskQueue;
 import safro.zenith.compat.PatchouliCompat;
 import safro.zenith.ench.EnchModule;
 import safro.zenith.ench.anvil.AnvilBlockEntity;
@@ -91,6 +92,7 @@ public class Zenith implements ModInitializer {
 		enablePotion = config.getBoolean("Enable Potion Module", "general", true, "If the potion module is loaded.");
 		enableVillage = config.getBoolean("Enable Village Module", "general", true, "If the village module is loaded.");
 		giveBook = config.getBoolean("Give Book on First Join", "general", true, "If the Chronicle of Shadows is given to new players.");
+		TaskQueue.budgetMillis = config.getFloat("Task Budget", "general", 10, 0.5F, 50, "The time in milliseconds that multi-tick tasks (like Chainsaw) may use per tick.");
 		config.setTitle("Zenith Module Control");
 		config.setComment("This file allows individual modules of Zenith to be enabled or disabled.\nChanges will have no effect until the next game restart.");
 		if (config.hasChanged()) config.save();
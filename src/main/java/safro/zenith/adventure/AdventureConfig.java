@@ -81,6 +81,7 @@ public class AdventureConfig {
 				e.printStackTrace();
 			}
 		}
+		LootCategory.invalidateCache();
 
 		randomAffixItem = c.getFloat("Random Affix Chance", "affixes", randomAffixItem, 0, 1, "The chance that a naturally spawned mob will be granted an affix item. 0 = 0%, 1 = 100%");
 		gemDropChance = c.getFloat("Gem Drop Chance", "affixes", gemDropChance, 0, 1, "The chance that a mob will drop a gem. 0 = 0%, 1 = 100%");
@@ -5,6 +5,7 @@ import io.github.fabricators_of_create.porting_lib.event.common.BlockEvents;
 import io.github.fabricators_of_create.porting_lib.event.common.EntityEvents;
 import io.github.fabricators_of_create.porting_lib.event.common.LivingEntityEvents;
 import io.github.fabricators_of_create.porting_lib.event.common.PlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
 import net.fabricmc.fabric.api.event.player.UseItemCallback;
 import net.fabricmc.fabric.api.item.v1.ModifyItemAttributeModifiersCallback;
 import net.minecraft.core.BlockPos;
@@ -33,6 +34,7 @@ import safro.zenith.Zenith;
 import safro.zenith.adventure.affix.Affix;
 import safro.zenith.adventure.affix.AffixHelper;
 import safro.zenith.adventure.affix.AffixInstance;
+import safro.zenith.adventure.affix.EquippedAffixes;
 import safro.zenith.adventure.commands.*;
 import safro.zenith.adventure.loot.LootCategory;
 import safro.zenith.ench.EnchModuleEvents;
@@ -54,6 +56,7 @@ public class AdventureEvents {
 		GemCommand.init();
 		SocketCommand.init();
 		ModifierCommand.init();
+		CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> LootCategory.invalidateCache());
 
 		LivingEntityEvents.ACTUALLY_HURT.register((source, damaged, amount) -> {
 			if (Zenith.enableAdventure){
@@ -175,14 +178,8 @@ public class AdventureEvents {
 	public static void onDamage(DamageSource source, LivingEntity damaged, float amount) {
 			float finalAmount = amount;
 			AdventureModule.MAGICAL.ifPresent(afx -> afx.onHurt(source, finalAmount));
-			LivingEntity ent = (LivingEntity) source.getEntity();
-			if (ent == null) return;
-		for (ItemStack s : ent.getAllSlots()) {
-			Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(s);
-			for (AffixInstance inst : affixes.values()) {
-				amount = inst.onHurt(source, ent, amount);
-			}
-		}
+			if (!(source.getEntity() instanceof LivingEntity ent)) return;
+			EquippedAffixes.get(ent).onHurt(source, ent, amount);
 	}
 
 	/**
@@ -304,11 +301,7 @@ public class AdventureEvents {
 		BlockEvents.BLOCK_BREAK.register((BlockEvents.BreakEvent e)-> {
 			double xpMult = e.getPlayer().getAttributeValue(AdventureModule.EXPERIENCE_GAINED);
 			e.setExpToDrop((int) (e.getExpToDrop() * xpMult));
-			ItemStack stack = e.getPlayer().getMainHandItem();
-			Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
-			for (AffixInstance inst : affixes.values()) {
-				inst.onBlockBreak(e.getPlayer(), e.getWorld(), e.getPos(), e.getState());
-			}
+			EquippedAffixes.get(e.getPlayer()).onBlockBreak(e.getPlayer(), e.getWorld(), e.getPos(), e.getState());
 		});
 	}
 
@@ -341,7 +334,8 @@ public class AdventureEvents {
 			float chance = AdventureConfig.gemDropChance + (e.getEntity().getPersistentData().contains("apoth.boss") ? AdventureConfig.gemBossBonus : 0);
 			if (p.random.nextFloat() <= chance) {
 				Entity ent = e.getEntity();
-				e.getDrops().add(new ItemEntity(ent.level, ent.getX(), ent.getY(), ent.getZ(), GemManager.createRandomGemStack(p.random, (ServerLevel) p.level, p.getLuck(), WeightedJsonReloadListener.IDimensional.matches(p.getLevel()), IStaged.matches(p)), 0, 0, 0));
+				// The dimension is already filtered by the partitioned draw, and there are no game stages to filter by, so no filters are passed.
+				e.getDrops().add(new ItemEntity(ent.level, ent.getX(), ent.getY(), ent.getZ(), GemManager.createRandomGemStack(p.random, (ServerLevel) p.level, p.getLuck()), 0, 0, 0));
 			}
 		}
 	}
@@ -1,5 +1,6 @@
 package safro.zenith.adventure.affix;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
@@ -16,10 +17,14 @@ import safro.zenith.Zenith;
 import safro.zenith.adventure.loot.LootCategory;
 import safro.zenith.adventure.loot.LootRarity;
 import safro.zenith.api.placebo.util.StepFunction;
+import safro.zenith.util.IAffixCacheHolder;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -36,11 +41,22 @@ public class AffixHelper {
 	public static final String RARITY = "rarity";
 	public static final String NAME = "name";
 
+	/**
+	 * Sort order of decoded affixes, matching the order they are shown in tooltips.
+	 */
+	private static final Comparator<AffixInstance> AFFIX_ORDER = Comparator.<AffixInstance>comparingInt(inst -> inst.affix().getType().ordinal()).thenComparing(inst -> inst.affix().getId());
+
+	/**
+	 * Bumped by {@link #invalidateCache()}. Decoded affixes are stored on the stack itself, and are only valid for the generation they were decoded in,
+	 * while the stack still holds the same affix compound (by identity and size) and the same rarity.
+	 */
+	private static volatile int cacheGeneration = 0;
+
 	/**
 	 * Adds this specific affix to the Item's NBT tag.
 	 */
 	public static void applyAffix(ItemStack stack, AffixInstance affix) {
-		var affixes = getAffixes(stack);
+		var affixes = new HashMap<>(getAffixes(stack));
 		affixes.put(affix.affix(), affix);
 		setAffixes(stack, affixes);
 	}
@@ -52,6 +68,7 @@ public class AffixHelper {
 			affixesTag.putFloat(inst.affix().getId().toString(), inst.level());
 		}
 		afxData.put(AFFIXES, affixesTag);
+		((IAffixCacheHolder) (Object) stack).setCachedAffixes(null);
 	}
 
 	public static void setName(ItemStack stack, Component name) {
@@ -68,29 +85,46 @@ public class AffixHelper {
 	}
 
 	/**
-	 * Gets the affixes of an item. Changes to this map will not write-back to the affixes on the itemstack.
+	 * Gets the affixes of an item. The returned map is immutable, shared between calls, and ordered by affix type and then id.
 	 * @param stack The stack being queried.
 	 * @return A Map of all affixes on the stack, or an empty map if none were found.
 	 */
 	public static Map<Affix, AffixInstance> getAffixes(ItemStack stack) {
-		Map<Affix, AffixInstance> map = new HashMap<>();
-		if (!hasAffixes(stack)) return map;
-		Zenith.LOGGER.warn("Has Affixes");
+		if (!hasAffixes(stack)) return ImmutableMap.of();
 		CompoundTag afxData = stack.getTagElement(AFFIX_DATA);
-		if (afxData != null && afxData.contains(AFFIXES)) {
-			CompoundTag affixes = afxData.getCompound(AFFIXES);
-			LootRarity rarity = getRarity(afxData);
-			if (rarity == null) rarity = LootRarity.COMMON;
-			for (String key : affixes.getAllKeys()) {
-				Affix affix = AffixManager.INSTANCE.getValue(new ResourceLocation(key));
-				if (affix == null || !affix.canApplyTo(stack, rarity)) continue;
-				float lvl = affixes.getFloat(key);
-				map.put(affix, new AffixInstance(affix, stack, rarity, lvl));
-			}
+		// Read the stored compound directly, getCompound would return a fresh tag each call if it were missing.
+		if (!(afxData.get(AFFIXES) instanceof CompoundTag affixes)) return ImmutableMap.of();
+		IAffixCacheHolder holder = (IAffixCacheHolder) (Object) stack;
+		CachedAffixes cached = holder.getCachedAffixes();
+		if (cached != null && cached.isValid(afxData, affixes)) return cached.affixMap();
+
+		LootRarity rarity = getRarity(afxData);
+		if (rarity == null) rarity = LootRarity.COMMON;
+		List<AffixInstance> list = new ArrayList<>(affixes.size());
+		for (String key : affixes.getAllKeys()) {
+			Affix affix = AffixManager.INSTANCE.getValue(new ResourceLocation(key));
+			if (affix == null || !affix.canApplyTo(stack, rarity)) continue;
+			float lvl = affixes.getFloat(key);
+			list.add(new AffixInstance(affix, stack, rarity, lvl));
 		}
+		list.sort(AFFIX_ORDER);
+		ImmutableMap.Builder<Affix, AffixInstance> builder = ImmutableMap.builderWithExpectedSize(list.size());
+		for (AffixInstance inst : list) {
+			builder.put(inst.affix(), inst);
+		}
+		Map<Affix, AffixInstance> map = builder.build();
+		holder.setCachedAffixes(new CachedAffixes(cacheGeneration, affixes, affixes.size(), afxData.getString(RARITY), map));
 		return map;
 	}
 
+	/**
+	 * Drops all decoded affixes.  Called when the affix registry is reloaded, as cached instances may point to stale affixes.
+	 */
+	public static void invalidateCache() {
+		cacheGeneration++;
+		EquippedAffixes.invalidateAll();
+	}
+
 	public static Stream<AffixInstance> streamAffixes(ItemStack stack) {
 		return getAffixes(stack).values().stream();
 	}
@@ -112,6 +146,7 @@ public class AffixHelper {
 		afxData.putString(NAME, Component.Serializer.toJson(comp));
 		if (!stack.getOrCreateTagElement(DISPLAY).contains(LORE)) AffixHelper.addLore(stack, Component.translatable("info.zenith.affix_item").setStyle(Style.EMPTY.withColor(ChatFormatting.DARK_GRAY).withItalic(false)));
 		afxData.putString(RARITY, rarity.id());
+		((IAffixCacheHolder) (Object) stack).setCachedAffixes(null);
 	}
 
 	public static void copyFrom(ItemStack stack, Entity entity) {
@@ -181,4 +216,14 @@ public class AffixHelper {
 		}.getType());
 	}
 
+	/**
+	 * Decoded affixes of a stack, held by the stack itself so they are collected with it.
+	 */
+	public static record CachedAffixes(int generation, CompoundTag affixes, int size, String rarity, Map<Affix, AffixInstance> affixMap) {
+
+		boolean isValid(CompoundTag afxData, CompoundTag affixes) {
+			return this.generation == cacheGeneration && this.affixes == affixes && this.size == affixes.size() && this.rarity.equals(afxData.getString(RARITY));
+		}
+	}
+
 }
\ No newline at end of file
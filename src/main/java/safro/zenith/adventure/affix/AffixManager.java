@@ -32,6 +32,7 @@ public class AffixManager extends PlaceboJsonReloadListener<Affix> {
 	@Override
 	protected void beginReload() {
 		super.beginReload();
+		AffixHelper.invalidateCache();
 	}
 
 	@Override
@@ -40,6 +41,7 @@ public class AffixManager extends PlaceboJsonReloadListener<Affix> {
 		ImmutableMultimap.Builder<AffixType, Affix> builder = ImmutableMultimap.builder();
 		this.registry.values().forEach(a -> builder.put(a.type, a));
 		byType = builder.build();
+		AffixHelper.invalidateCache();
 		Preconditions.checkArgument(AdventureModule.SOCKET.get() instanceof SocketAffix, "Socket Affix not registered!");
 		Preconditions.checkArgument(AdventureModule.DURABLE.get() instanceof DurableAffix, "Durable Affix not registered!");
 	}
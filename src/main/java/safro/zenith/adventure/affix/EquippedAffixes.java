@@ -0,0 +1,127 @@
+package safro.zenith.adventure.affix;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import safro.zenith.adventure.loot.LootRarity;
+import safro.zenith.util.IEquippedAffixHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A flattened snapshot of the affixes on every equipped item of a living entity, grouped by the hooks each affix implements.
+ * Only the hooks dispatched across the whole equipment ({@link #onHurt} and {@link #onBlockBreak}) are tracked.<br>
+ * Snapshots are rebuilt lazily after vanilla equipment change detection marks the entity dirty, when a slot holds a different
+ * stack instance than the one the snapshot was built from, or after the affix registry reloads.
+ */
+public final class EquippedAffixes {
+
+	private static final EquipmentSlot[] SLOTS = EquipmentSlot.values();
+	private static final AffixInstance[] NONE = new AffixInstance[0];
+
+	private static final int ON_HURT = 1;
+	private static final int BLOCK_BREAK = 1 << 1;
+
+	/**
+	 * Bitmask of the hooks overridden by each affix class, so affixes that do nothing for a hook are never visited.
+	 */
+	private static final ClassValue<Integer> HOOKS = new ClassValue<>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			int hooks = 0;
+			if (overrides(type, "onHurt", ItemStack.class, LootRarity.class, float.class, DamageSource.class, LivingEntity.class, float.class)) hooks |= ON_HURT;
+			if (overrides(type, "onBlockBreak", ItemStack.class, LootRarity.class, float.class, Player.class, LevelAccessor.class, BlockPos.class, BlockState.class)) hooks |= BLOCK_BREAK;
+			return hooks;
+		}
+	};
+
+	/**
+	 * Incremented whenever decoded affixes are invalidated, which also invalidates every snapshot.
+	 */
+	private static volatile int generation;
+
+	private final int builtGeneration;
+	private final ItemStack[] stacks;
+	private final AffixInstance[] onHurt;
+	private final AffixInstance[] onBlockBreak;
+
+	private EquippedAffixes(LivingEntity entity) {
+		this.builtGeneration = generation;
+		this.stacks = new ItemStack[SLOTS.length];
+		List<AffixInstance> onHurt = new ArrayList<>(), blockBreak = new ArrayList<>();
+		for (EquipmentSlot slot : SLOTS) {
+			ItemStack stack = entity.getItemBySlot(slot);
+			this.stacks[slot.ordinal()] = stack;
+			for (AffixInstance inst : AffixHelper.getAffixes(stack).values()) {
+				int hooks = HOOKS.get(inst.affix().getClass());
+				if ((hooks & ON_HURT) != 0) onHurt.add(inst);
+				// Block breaking only considers the tool being used.
+				if ((hooks & BLOCK_BREAK) != 0 && slot == EquipmentSlot.MAINHAND) blockBreak.add(inst);
+			}
+		}
+		this.onHurt = onHurt.toArray(NONE);
+		this.onBlockBreak = blockBreak.toArray(NONE);
+	}
+
+	/**
+	 * Retrieves the equipped affix snapshot of an entity, rebuilding it if the equipment changed since it was last built.
+	 */
+	public static EquippedAffixes get(LivingEntity entity) {
+		IEquippedAffixHolder holder = (IEquippedAffixHolder) entity;
+		EquippedAffixes snapshot = holder.getEquippedAffixes();
+		if (snapshot == null || holder.isEquipmentDirty() || !snapshot.isValid(entity)) {
+			snapshot = new EquippedAffixes(entity);
+			holder.setEquippedAffixes(snapshot);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Invalidates all snapshots.  Called alongside {@link AffixHelper#invalidateCache()}.
+	 */
+	static void invalidateAll() {
+		generation++;
+	}
+
+	private boolean isValid(LivingEntity entity) {
+		if (this.builtGeneration != generation) return false;
+		for (EquipmentSlot slot : SLOTS) {
+			if (entity.getItemBySlot(slot) != this.stacks[slot.ordinal()]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Passes the damage amount through the {@link AffixInstance#onHurt} hook of every equipped affix.
+	 */
+	public float onHurt(DamageSource src, LivingEntity ent, float amount) {
+		for (AffixInstance inst : this.onHurt) {
+			amount = inst.onHurt(src, ent, amount);
+		}
+		return amount;
+	}
+
+	/**
+	 * Fires the {@link AffixInstance#onBlockBreak} hook of the affixes on the main hand item.
+	 */
+	public void onBlockBreak(Player player, LevelAccessor world, BlockPos pos, BlockState state) {
+		for (AffixInstance inst : this.onBlockBreak) {
+			inst.onBlockBreak(player, world, pos, state);
+		}
+	}
+
+	private static boolean overrides(Class<?> type, String name, Class<?>... params) {
+		try {
+			return type.getMethod(name, params).getDeclaringClass() != Affix.class;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+}
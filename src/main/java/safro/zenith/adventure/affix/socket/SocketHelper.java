@@ -13,6 +13,7 @@ import safro.zenith.adventure.affix.socket.gem.Gem;
 import safro.zenith.adventure.affix.socket.gem.GemItem;
 import safro.zenith.adventure.loot.LootRarity;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -60,7 +61,7 @@ public class SocketHelper {
 	}
 
 	public static void setSockets(ItemStack stack, int sockets) {
-		Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
+		Map<Affix, AffixInstance> affixes = new HashMap<>(AffixHelper.getAffixes(stack));
 		affixes.put(AdventureModule.SOCKET.get(), new AffixInstance(AdventureModule.SOCKET.get(), stack, LootRarity.COMMON, sockets));
 		AffixHelper.setAffixes(stack, affixes);
 	}
@@ -33,12 +33,12 @@ public class GemManager extends WeightedJsonReloadListener<Gem> {
 	 * @param rand Random
 	 * param rarity The rarity, or null if it should be randomly selected.
 	 * @param luck The player's luck level
-	 * @param filter The filter
+	 * @param filter Additional filters, applied on top of the dimension of the level
 	 * @return A gem item, or an empty ItemStack if no entries were available for the dimension.
 	 */
 	@SafeVarargs
 	public static ItemStack createRandomGemStack(RandomSource rand, ServerLevel level, float luck, Predicate<Gem>... filter) {
-		Gem gem = GemManager.INSTANCE.getRandomItem(rand, luck, filter);
+		Gem gem = GemManager.INSTANCE.getRandomItem(rand, luck, level.dimension().location(), filter);
 		if (gem == null) return ItemStack.EMPTY;
 		LootRarity.Clamped clamp = AdventureConfig.GEM_DIM_RARITIES.get(level.dimension().location());
 		LootRarity rarity = gem.clamp(LootRarity.random(rand, luck, clamp));
@@ -192,7 +192,7 @@ public class AdventureModuleClient {
 			if (stack.hasTag()) {
 				Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
 				List<Component> components = new ArrayList<>();
-				affixes.values().stream().sorted(Comparator.comparingInt(a -> a.affix().getType().ordinal())).forEach(inst -> inst.addInformation(components::add));
+				affixes.values().forEach(inst -> inst.addInformation(components::add));
 				lines.addAll(1, components);
 			}
 
@@ -9,12 +9,12 @@ import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.commands.arguments.ResourceLocationArgument;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier.Operation;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import safro.zenith.adventure.affix.socket.gem.Gem;
 import safro.zenith.adventure.affix.socket.gem.GemManager;
-import safro.zenith.api.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 import java.util.Arrays;
 
@@ -39,7 +39,7 @@ public class GemCommand {
 				return 0;
 			}))).then(Commands.literal("random").executes(c -> {
 				Player p = c.getSource().getPlayerOrException();
-				ItemStack gem = GemManager.createRandomGemStack(p.random, c.getSource().getLevel(), p.getLuck(), IDimensional.matches(p.level));
+				ItemStack gem = GemManager.createRandomGemStack(p.random, (ServerLevel) p.level, p.getLuck());
 				p.addItem(gem);
 				return 0;
 			}))));
@@ -20,6 +20,7 @@ import safro.zenith.api.placebo.codec.PlaceboCodecs;
 //import safro.zenith.api.codec.PlaceboCodecs;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -28,6 +29,13 @@ public final class LootCategory {
 	private static final Map<String, LootCategory> BY_ID_INTERNAL = new HashMap<>();
 	private static final List<LootCategory> VALUES_INTERNAL = new LinkedList<>();
 
+	/**
+	 * The category of each item, as decided by the type overrides and the categories that are not stack-sensitive.
+	 * Items do not override equals or hashCode, so this is keyed by identity. Cleared by {@link #invalidateCache()}.
+	 */
+	private static final Map<Item, Classified> ITEM_CACHE = new ConcurrentHashMap<>();
+	private static volatile boolean hasStackSensitive = false;
+
 	public static final Map<String, LootCategory> BY_ID = Collections.unmodifiableMap(BY_ID_INTERNAL);
 	public static final List<LootCategory> VALUES = Collections.unmodifiableList(VALUES_INTERNAL);
 	public static final Codec<LootCategory> CODEC = ExtraCodecs.stringResolverCodec(LootCategory::getName, LootCategory::byId);
@@ -44,17 +52,19 @@ public final class LootCategory {
 	public static final LootCategory BOOTS = register("boots", armorSlot(EquipmentSlot.FEET), s -> arr(EquipmentSlot.FEET));
 	public static final LootCategory SHIELD = register("shield", s -> s.canPerformAction(ToolActions.SHIELD_BLOCK), s -> arr(EquipmentSlot.OFFHAND));
 	public static final LootCategory TRIDENT = register("trident", s -> s.getItem() instanceof TridentItem, s -> arr(EquipmentSlot.MAINHAND));
-	public static final LootCategory SWORD = register("sword", s -> s.canPerformAction(ToolActions.SWORD_DIG) || s.getItem().getAttributeModifiers(s, EquipmentSlot.MAINHAND).get(Attributes.ATTACK_DAMAGE).stream().anyMatch(m -> m.getAmount() > 0), s -> arr(EquipmentSlot.MAINHAND));
+	public static final LootCategory SWORD = register("sword", s -> s.canPerformAction(ToolActions.SWORD_DIG) || s.getItem().getAttributeModifiers(s, EquipmentSlot.MAINHAND).get(Attributes.ATTACK_DAMAGE).stream().anyMatch(m -> m.getAmount() > 0), s -> arr(EquipmentSlot.MAINHAND), true);
 	public static final LootCategory NONE = register("none", Predicates.alwaysFalse(), s -> new EquipmentSlot[0]);
 
 	private final String name;
 	private final Predicate<ItemStack> validator;
 	private final Function<ItemStack, EquipmentSlot[]> slotGetter;
+	private final boolean stackSensitive;
 
-	private LootCategory(String name, Predicate<ItemStack> validator, Function<ItemStack, EquipmentSlot[]> slotGetter) {
+	private LootCategory(String name, Predicate<ItemStack> validator, Function<ItemStack, EquipmentSlot[]> slotGetter, boolean stackSensitive) {
 		this.name = Preconditions.checkNotNull(name);
 		this.validator = Preconditions.checkNotNull(validator);
 		this.slotGetter = Preconditions.checkNotNull(slotGetter);
+		this.stackSensitive = stackSensitive;
 	}
 
 	public String getDescId() {
@@ -81,6 +91,14 @@ public final class LootCategory {
 		return this.validator.test(stack);
 	}
 
+	/**
+	 * Stack-sensitive categories depend on more than the item of a stack, such as its NBT, and are checked again for every stack.
+	 * All other categories are checked once per item.
+	 */
+	public boolean isStackSensitive() {
+		return this.stackSensitive;
+	}
+
 	public boolean isArmor() {
 		return this == HELMET || this == CHESTPLATE || this == LEGGINGS || this == BOOTS;
 	}
@@ -134,10 +152,11 @@ public final class LootCategory {
 	 * @param name The name of this category.  May not be an existing name.
 	 * @param validator A predicate that checks if an item stack matches this loot category.
 	 * @param slotGetter A function that provides the loot categories that bonuses will be active for, if an item is of this category.
+	 * @param stackSensitive If the validator depends on more than the item of the stack. See {@link #isStackSensitive()}.
 	 * @return A new loot category, which should be stored in a public static final field.
 	 */
-	public static final LootCategory register(@Nullable LootCategory orderRef, String name, Predicate<ItemStack> validator, Function<ItemStack, EquipmentSlot[]> slotGetter) {
-		var cat = new LootCategory(name, validator, slotGetter);
+	public static final LootCategory register(@Nullable LootCategory orderRef, String name, Predicate<ItemStack> validator, Function<ItemStack, EquipmentSlot[]> slotGetter, boolean stackSensitive) {
+		var cat = new LootCategory(name, validator, slotGetter, stackSensitive);
 		if (BY_ID_INTERNAL.containsKey(name)) throw new IllegalArgumentException("Cannot register a loot category with a duplicate name.");
 		BY_ID_INTERNAL.put(name, cat);
 
@@ -145,9 +164,19 @@ public final class LootCategory {
 		if (orderRef != null) idx = VALUES_INTERNAL.indexOf(orderRef);
 		VALUES_INTERNAL.add(idx, cat);
 
+		if (stackSensitive) hasStackSensitive = true;
+		invalidateCache();
 		return cat;
 	}
 
+	/**
+	 * Registers a new loot category that only depends on the item of a stack.
+	 * @see #register(LootCategory, String, Predicate, Function, boolean)
+	 */
+	public static final LootCategory register(@Nullable LootCategory orderRef, String name, Predicate<ItemStack> validator, Function<ItemStack, EquipmentSlot[]> slotGetter) {
+		return register(orderRef, name, validator, slotGetter, false);
+	}
+
 	/**
 	 * Looks up a Loot Category by name.
 	 * @param name The name of the loot category.
@@ -164,12 +193,40 @@ public final class LootCategory {
 	 * @return The first valid loot category, or {@link #NONE} if no categories were valid.
 	 */
 	public static LootCategory forItem(ItemStack item) {
+		Classified classified = ITEM_CACHE.get(item.getItem());
+		if (classified == null) {
+			classified = classify(item);
+			ITEM_CACHE.put(item.getItem(), classified);
+		}
+		LootCategory cached = classified.category();
+		if (!hasStackSensitive || classified.overridden()) return cached;
+		for (LootCategory c : VALUES) {
+			if (c == cached && !c.isNone()) return c;
+			if (c.isStackSensitive() && c.isValid(item)) return c;
+		}
+		return cached;
+	}
+
+	/**
+	 * Drops the cached category of every item. Called when the type overrides are reloaded, when tags are reloaded, and when a category is registered.
+	 */
+	public static void invalidateCache() {
+		ITEM_CACHE.clear();
+	}
+
+	private static Classified classify(ItemStack item) {
 		LootCategory override = AdventureConfig.TYPE_OVERRIDES.get(Registry.ITEM.getKey(item.getItem()));
-		if (override != null) return override;
+		if (override != null) return new Classified(override, true);
 		for (LootCategory c : VALUES) {
-			if (c.isValid(item)) return c;
+			if (!c.isStackSensitive() && c.isValid(item)) return new Classified(c, false);
 		}
-		return NONE;
+		return new Classified(NONE, false);
+	}
+
+	/**
+	 * The cached part of the classification of an item. Stack-sensitive categories are still checked per stack, unless the item is overridden.
+	 */
+	private static record Classified(LootCategory category, boolean overridden) {
 	}
 
 	private static EquipmentSlot[] arr(EquipmentSlot... s) {
@@ -206,4 +263,8 @@ public final class LootCategory {
 	static final LootCategory register(String name, Predicate<ItemStack> validator, Function<ItemStack, EquipmentSlot[]> slotGetter) {
 		return register(null, name, validator, slotGetter);
 	}
+
+	static final LootCategory register(String name, Predicate<ItemStack> validator, Function<ItemStack, EquipmentSlot[]> slotGetter, boolean stackSensitive) {
+		return register(null, name, validator, slotGetter, stackSensitive);
+	}
 }
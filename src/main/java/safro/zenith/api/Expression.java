@@ -10,6 +10,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * <h1>EvalEx - Java Expression Evaluator</h1>
@@ -850,6 +851,102 @@ public class Expression {
         return stack.pop().stripTrailingZeros();
     }
 
+    /**
+     * Compiles the expression into a primitive double evaluator of a single variable.
+     * Built-in operators and functions are evaluated with double precision instead of the {@link MathContext},
+     * while custom operators and functions are bridged through their BigDecimal implementations.
+     * All other variables are captured with their current values.
+     *
+     * @param variable
+     *            The name of the free variable.
+     *
+     * @return A function mapping the free variable to the result of the expression.
+     */
+    public DoubleUnaryOperator compile(String variable) {
+        if (!variables.containsKey(variable)) variables.put(variable, BigDecimal.ZERO);
+        Stack<DoubleUnaryOperator> stack = new Stack<>();
+
+        for (String token : getRPN()) {
+            if (operators.containsKey(token)) {
+                DoubleUnaryOperator v1 = stack.pop();
+                DoubleUnaryOperator v2 = stack.pop();
+                stack.push(compileOperator(operators.get(token), v2, v1));
+            } else if (variable.equals(token)) {
+                stack.push(x -> x);
+            } else if (variables.containsKey(token)) {
+                double value = variables.get(token).round(mc).doubleValue();
+                stack.push(x -> value);
+            } else if (functions.containsKey(token.toUpperCase())) {
+                Function f = functions.get(token.toUpperCase());
+                DoubleUnaryOperator[] p = new DoubleUnaryOperator[f.getNumParams()];
+                for (int i = f.getNumParams() - 1; i >= 0; i--) {
+                    p[i] = stack.pop();
+                }
+                stack.push(compileFunction(f, p));
+            } else {
+                double value = new BigDecimal(token, mc).doubleValue();
+                stack.push(x -> value);
+            }
+        }
+        return stack.pop();
+    }
+
+    private DoubleUnaryOperator compileOperator(Operator op, DoubleUnaryOperator a, DoubleUnaryOperator b) {
+        return switch (op.getOper()) {
+            case "+" -> x -> a.applyAsDouble(x) + b.applyAsDouble(x);
+            case "-" -> x -> a.applyAsDouble(x) - b.applyAsDouble(x);
+            case "*" -> x -> a.applyAsDouble(x) * b.applyAsDouble(x);
+            case "/" -> x -> a.applyAsDouble(x) / b.applyAsDouble(x);
+            case "%" -> x -> a.applyAsDouble(x) % b.applyAsDouble(x);
+            case "^" -> x -> Math.pow(a.applyAsDouble(x), b.applyAsDouble(x));
+            case "&&" -> x -> bool(a.applyAsDouble(x) != 0 && b.applyAsDouble(x) != 0);
+            case "||" -> x -> bool(a.applyAsDouble(x) != 0 || b.applyAsDouble(x) != 0);
+            case ">" -> x -> bool(a.applyAsDouble(x) > b.applyAsDouble(x));
+            case ">=" -> x -> bool(a.applyAsDouble(x) >= b.applyAsDouble(x));
+            case "<" -> x -> bool(a.applyAsDouble(x) < b.applyAsDouble(x));
+            case "<=" -> x -> bool(a.applyAsDouble(x) <= b.applyAsDouble(x));
+            case "=", "==" -> x -> bool(a.applyAsDouble(x) == b.applyAsDouble(x));
+            case "!=", "<>" -> x -> bool(a.applyAsDouble(x) != b.applyAsDouble(x));
+            default -> x -> op.eval(new BigDecimal(a.applyAsDouble(x), mc), new BigDecimal(b.applyAsDouble(x), mc)).doubleValue();
+        };
+    }
+
+    private DoubleUnaryOperator compileFunction(Function f, DoubleUnaryOperator[] p) {
+        return switch (f.getName()) {
+            case "NOT" -> x -> bool(p[0].applyAsDouble(x) == 0);
+            case "IF" -> x -> p[0].applyAsDouble(x) != 0 ? p[1].applyAsDouble(x) : p[2].applyAsDouble(x);
+            case "RANDOM" -> x -> Math.random();
+            case "SIN" -> x -> Math.sin(Math.toRadians(p[0].applyAsDouble(x)));
+            case "COS" -> x -> Math.cos(Math.toRadians(p[0].applyAsDouble(x)));
+            case "TAN" -> x -> Math.tan(Math.toRadians(p[0].applyAsDouble(x)));
+            case "SINH" -> x -> Math.sinh(p[0].applyAsDouble(x));
+            case "COSH" -> x -> Math.cosh(p[0].applyAsDouble(x));
+            case "TANH" -> x -> Math.tanh(p[0].applyAsDouble(x));
+            case "RAD" -> x -> Math.toRadians(p[0].applyAsDouble(x));
+            case "DEG" -> x -> Math.toDegrees(p[0].applyAsDouble(x));
+            case "MAX" -> x -> Math.max(p[0].applyAsDouble(x), p[1].applyAsDouble(x));
+            case "MIN" -> x -> Math.min(p[0].applyAsDouble(x), p[1].applyAsDouble(x));
+            case "ABS" -> x -> Math.abs(p[0].applyAsDouble(x));
+            case "LOG" -> x -> Math.log(p[0].applyAsDouble(x));
+            case "LOG10" -> x -> Math.log10(p[0].applyAsDouble(x));
+            case "ROUND" -> x -> BigDecimal.valueOf(p[0].applyAsDouble(x)).setScale((int) p[1].applyAsDouble(x), mc.getRoundingMode()).doubleValue();
+            case "FLOOR" -> x -> Math.floor(p[0].applyAsDouble(x));
+            case "CEILING" -> x -> Math.ceil(p[0].applyAsDouble(x));
+            case "SQRT" -> x -> Math.sqrt(p[0].applyAsDouble(x));
+            default -> x -> {
+                List<BigDecimal> params = new ArrayList<>(p.length);
+                for (DoubleUnaryOperator param : p) {
+                    params.add(new BigDecimal(param.applyAsDouble(x), mc));
+                }
+                return f.eval(params).doubleValue();
+            };
+        };
+    }
+
+    private static double bool(boolean b) {
+        return b ? 1 : 0;
+    }
+
     /**
      * Sets the precision for expression evaluation.
      *
@@ -2,8 +2,10 @@ package safro.zenith.api.event;
 
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.server.MinecraftServer;
 import safro.zenith.Zenith;
+import safro.zenith.util.BlockUtil;
 import safro.zenith.util.TradeManager;
 
 import javax.annotation.Nullable;
@@ -12,6 +14,8 @@ public class ServerEvents {
     private static MinecraftServer current;
 
     public static void init() {
+        TaskQueueCommand.init();
+
         ServerLifecycleEvents.SERVER_STARTED.register(listener -> {
             current = listener;
 
@@ -28,6 +32,11 @@ public class ServerEvents {
             TaskQueue.tick();
         });
 
+        ServerWorldEvents.UNLOAD.register((server, level) -> {
+            BlockUtil.onLevelUnload(level);
+            TaskQueue.levelUnloaded(level);
+        });
+
         ServerLifecycleEvents.SERVER_STARTING.register(listener -> {
             if (Zenith.enableVillage) {
                 TradeManager.postWanderer();
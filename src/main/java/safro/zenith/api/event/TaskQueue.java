@@ -1,40 +1,218 @@
 package safro.zenith.api.event;
 
-import org.apache.commons.lang3.tuple.Pair;
+import net.minecraft.server.level.ServerLevel;
 import safro.zenith.Zenith;
 
+import javax.annotation.Nullable;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Queue;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BooleanSupplier;
 
+/**
+ * Runs ticking tasks at the end of each server tick, until they report completion.<br>
+ * Each task runs at most once per tick, and tasks stop being run once the tick budget is spent. Tasks that did not
+ * get to run are first in line on the next tick. Tasks are grouped by level (so they are dropped when the level unloads)
+ * and run round-robin across task ids, so one kind of task cannot starve the others.
+ */
 public class TaskQueue {
-    private static final Queue<Pair<String, BooleanSupplier>> TASKS = new ArrayDeque<>();
+    /**
+     * Time in milliseconds that tasks may use per tick.
+     */
+    public static float budgetMillis = 10;
+
+    private static final Map<ServerLevel, Group> LEVEL_TASKS = new LinkedHashMap<>();
+    /**
+     * Tasks that were not submitted with a level.
+     */
+    private static final Group GLOBAL_TASKS = new Group();
+    /**
+     * Tasks submitted while tasks are running, added on the next tick.
+     */
+    private static final List<Task> PENDING = new ArrayList<>();
+    private static boolean ticking = false;
+
+    private static long lastTickNanos, totalNanos, ticks, overruns;
 
     public static void tick() {
-        Iterator<Pair<String, BooleanSupplier>> it = TASKS.iterator();
-        Pair<String, BooleanSupplier> current = null;
-        while (it.hasNext()) {
-            current = it.next();
-            try {
-                if (current.getRight().getAsBoolean()) it.remove();
-            } catch (Exception ex) {
-                Zenith.LOGGER.error("An exception occurred while running a ticking task with ID {}.  It will be terminated.", current.getLeft());
-                it.remove();
-                ex.printStackTrace();
+        for (Task t : PENDING) {
+            getGroup(t.level).add(t);
+        }
+        PENDING.clear();
+
+        long start = System.nanoTime();
+        long deadline = start + (long) (budgetMillis * 1_000_000);
+        ticking = true;
+        try {
+            boolean finished = GLOBAL_TASKS.run(deadline);
+            for (Group g : LEVEL_TASKS.values()) {
+                finished &= g.run(deadline);
             }
+            if (!finished) overruns++;
+        } finally {
+            ticking = false;
+        }
+        LEVEL_TASKS.values().removeIf(Group::isEmpty);
+        if (LEVEL_TASKS.size() > 1) { // Rotate levels, so the same level does not always get the budget first.
+            Iterator<Map.Entry<ServerLevel, Group>> it = LEVEL_TASKS.entrySet().iterator();
+            Map.Entry<ServerLevel, Group> first = it.next();
+            it.remove();
+            LEVEL_TASKS.put(first.getKey(), first.getValue());
         }
+        lastTickNanos = System.nanoTime() - start;
+        totalNanos += lastTickNanos;
+        ticks++;
     }
 
     public static void stopped() {
-        TASKS.clear();
+        clear();
     }
 
     public static void started() {
-        TASKS.clear();
+        clear();
+    }
+
+    /**
+     * Drops all tasks belonging to a level, when it is unloaded.
+     */
+    public static void levelUnloaded(ServerLevel level) {
+        LEVEL_TASKS.remove(level);
+        PENDING.removeIf(t -> t.level == level);
     }
 
+    /**
+     * Submits a task that is not tied to a level.
+     */
     public static void submitTask(String id, BooleanSupplier task) {
-        TASKS.add(Pair.of(id, task));
+        submitTask(null, id, task);
+    }
+
+    /**
+     * Submits a task, which is dropped if the level unloads before it completes.
+     * @param task Runs once per tick, returning true once it is done.
+     */
+    public static void submitTask(@Nullable ServerLevel level, String id, BooleanSupplier task) {
+        Task t = new Task(level, id, task);
+        if (ticking) PENDING.add(t);
+        else getGroup(level).add(t);
+    }
+
+    public static int getQueuedTasks() {
+        int size = GLOBAL_TASKS.size() + PENDING.size();
+        for (Group g : LEVEL_TASKS.values()) {
+            size += g.size();
+        }
+        return size;
+    }
+
+    public static float getLastTickMillis() {
+        return lastTickNanos / 1_000_000F;
+    }
+
+    public static float getAverageTickMillis() {
+        return ticks == 0 ? 0 : totalNanos / (float) ticks / 1_000_000F;
+    }
+
+    /**
+     * @return The number of ticks where the budget ran out before every task ran.
+     */
+    public static long getOverruns() {
+        return overruns;
+    }
+
+    private static void clear() {
+        LEVEL_TASKS.clear();
+        GLOBAL_TASKS.tasks.clear();
+        PENDING.clear();
+        lastTickNanos = totalNanos = ticks = overruns = 0;
+    }
+
+    private static Group getGroup(@Nullable ServerLevel level) {
+        return level == null ? GLOBAL_TASKS : LEVEL_TASKS.computeIfAbsent(level, l -> new Group());
+    }
+
+    private static record Task(@Nullable ServerLevel level, String id, BooleanSupplier task) {
+    }
+
+    /**
+     * The tasks of a single level, queued by id.
+     */
+    private static class Group {
+        private final LinkedHashMap<String, ArrayDeque<Task>> tasks = new LinkedHashMap<>();
+
+        void add(Task t) {
+            this.tasks.computeIfAbsent(t.id, k -> new ArrayDeque<>()).add(t);
+        }
+
+        int size() {
+            int size = 0;
+            for (ArrayDeque<Task> q : this.tasks.values()) {
+                size += q.size();
+            }
+            return size;
+        }
+
+        boolean isEmpty() {
+            return this.tasks.isEmpty();
+        }
+
+        /**
+         * Runs every task once, alternating between ids, until the deadline passes. At least one task always runs.
+         * Tasks that ran are moved to the back of their queue, and the first id moves to the back of the group.
+         * @return If every task was run.
+         */
+        boolean run(long deadline) {
+            if (this.tasks.isEmpty()) return true;
+            List<ArrayDeque<Task>> queues = new ArrayList<>(this.tasks.values());
+            int[] remaining = new int[queues.size()];
+            int left = 0;
+            boolean ran = false;
+            for (int i = 0; i < queues.size(); i++) {
+                left += remaining[i] = queues.get(i).size();
+            }
+            while (left > 0) {
+                for (int i = 0; i < queues.size(); i++) {
+                    if (remaining[i] == 0) continue;
+                    if (ran && System.nanoTime() > deadline) {
+                        this.finish();
+                        return false;
+                    }
+                    ArrayDeque<Task> queue = queues.get(i);
+                    Task t = queue.poll();
+                    remaining[i]--;
+                    left--;
+                    ran = true;
+                    if (!runTask(t)) queue.add(t);
+                }
+            }
+            this.finish();
+            return true;
+        }
+
+        private void finish() {
+            this.tasks.values().removeIf(ArrayDeque::isEmpty);
+            if (this.tasks.size() > 1) {
+                Iterator<Map.Entry<String, ArrayDeque<Task>>> it = this.tasks.entrySet().iterator();
+                Map.Entry<String, ArrayDeque<Task>> first = it.next();
+                it.remove();
+                this.tasks.put(first.getKey(), first.getValue());
+            }
+        }
+
+        /**
+         * @return If the task is complete, or failed and should be dropped.
+         */
+        private static boolean runTask(Task t) {
+            try {
+                return t.task.getAsBoolean();
+            } catch (Exception ex) {
+                Zenith.LOGGER.error("An exception occurred while running a ticking task with ID {}.  It will be terminated.", t.id);
+                ex.printStackTrace();
+                return true;
+            }
+        }
     }
 }
@@ -0,0 +1,20 @@
+package safro.zenith.api.event;
+
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+public class TaskQueueCommand {
+
+    public static void init() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
+            dispatcher.register(Commands.literal("zenith").then(Commands.literal("tasks").requires(c -> c.hasPermission(2)).executes(c -> {
+                c.getSource().sendSuccess(Component.literal(String.format("Queued tasks: %d", TaskQueue.getQueuedTasks())), false);
+                c.getSource().sendSuccess(Component.literal(String.format("Last tick: %.2fms, average: %.2fms, budget: %.2fms", TaskQueue.getLastTickMillis(), TaskQueue.getAverageTickMillis(), TaskQueue.budgetMillis)), false);
+                c.getSource().sendSuccess(Component.literal(String.format("Ticks over budget: %d", TaskQueue.getOverruns())), false);
+                return TaskQueue.getQueuedTasks();
+            })));
+        });
+    }
+
+}
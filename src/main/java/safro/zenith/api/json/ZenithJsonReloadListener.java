@@ -1,9 +1,13 @@
 package safro.zenith.api.json;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.annotation.Nullable;
 
@@ -18,6 +22,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import net.minecraft.Util;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
@@ -61,33 +66,60 @@ public abstract class ZenithJsonReloadListener<V extends ZenithJsonReloadListene
     @Override
     protected final void apply(Map<ResourceLocation, JsonElement> objects, ResourceManager pResourceManager, ProfilerFiller pProfiler) {
         this.beginReload();
-        objects.forEach((key, ele) -> {
+        // Decoding is independent per file, so it is spread over the worker threads. Conditions may read the tags loaded by this reload,
+        // so they are checked here first, and registration stays on this thread, in the order of the files.
+        List<ResourceLocation> entries = new ArrayList<>(objects.size());
+        List<CompletableFuture<V>> decoded = new ArrayList<>(objects.size());
+        for (Map.Entry<ResourceLocation, JsonElement> entry : objects.entrySet()) {
+            ResourceLocation key = entry.getKey();
+            JsonElement ele = entry.getValue();
             try {
-                if (checkAndLogEmpty(ele, key, this.path, this.logger) && checkConditions(ele, key, this.path, this.logger)) {
-                    JsonObject obj = ele.getAsJsonObject();
-                    SerializerBuilder<V>.Serializer serializer;
-                    if (this.subtypes && obj.has("type")) {
-                        ResourceLocation type = new ResourceLocation(obj.get("type").getAsString());
-                        serializer = this.serializers.get(type);
-                        if (serializer == null) throw new RuntimeException("Attempted to deserialize a " + this.path + " with type " + type + " but no serializer exists!");
-                    } else {
-                        serializer = this.serializers.get(DEFAULT);
-                    }
-                    V deserialized = serializer.deserialize(obj);
-                    deserialized.setId(key);
-                    deserialized.setSerializer(serializer);
-                    Preconditions.checkNotNull(deserialized.getId(), "A " + this.path + " with id " + key + " failed to set ID.");
-                    Preconditions.checkNotNull(deserialized.getSerializer(), "A " + this.path + " with id " + key + " failed to set serializer.");
-                    this.register(key, deserialized);
-                }
+                if (!checkAndLogEmpty(ele, key, this.path, this.logger) || !checkConditions(ele, key, this.path, this.logger)) continue;
             } catch (Exception e) {
                 this.logger.error("Failed parsing {} file {}.", this.path, key);
                 e.printStackTrace();
+                continue;
             }
-        });
+            entries.add(key);
+            decoded.add(CompletableFuture.supplyAsync(() -> this.decode(key, ele), Util.backgroundExecutor()));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            ResourceLocation key = entries.get(i);
+            try {
+                V deserialized = decoded.get(i).join();
+                this.register(key, deserialized);
+            } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof Error err) throw err;
+                this.logger.error("Failed parsing {} file {}.", this.path, key);
+                cause.printStackTrace();
+            }
+        }
         this.onReload();
     }
 
+    /**
+     * Deserializes a single file, which has already passed the emptiness and condition checks.
+     * Called from worker threads during reload, so it may not touch the registry of this listener.
+     */
+    private V decode(ResourceLocation key, JsonElement ele) {
+        JsonObject obj = ele.getAsJsonObject();
+        SerializerBuilder<V>.Serializer serializer;
+        if (this.subtypes && obj.has("type")) {
+            ResourceLocation type = new ResourceLocation(obj.get("type").getAsString());
+            serializer = this.serializers.get(type);
+            if (serializer == null) throw new RuntimeException("Attempted to deserialize a " + this.path + " with type " + type + " but no serializer exists!");
+        } else {
+            serializer = this.serializers.get(DEFAULT);
+        }
+        V deserialized = serializer.deserialize(obj);
+        deserialized.setId(key);
+        deserialized.setSerializer(serializer);
+        Preconditions.checkNotNull(deserialized.getId(), "A " + this.path + " with id " + key + " failed to set ID.");
+        Preconditions.checkNotNull(deserialized.getSerializer(), "A " + this.path + " with id " + key + " failed to set serializer.");
+        return deserialized;
+    }
+
     /**
      * Add all default serializers to this reload listener.
      * This should be a series of calls to {@link }
@@ -188,8 +220,7 @@ public abstract class ZenithJsonReloadListener<V extends ZenithJsonReloadListene
      * Checks if an item is empty, and if it is, returns false and logs the key.
      */
     public static boolean checkAndLogEmpty(JsonElement e, ResourceLocation id, String type, Logger logger) {
-        String s = e.toString();
-        if (s.isEmpty() || s.equals("{}")) {
+        if (e.isJsonObject() && e.getAsJsonObject().size() == 0) {
             logger.debug("Ignoring {} item with id {} as it is empty.", type, id);
             return false;
         }
@@ -6,6 +6,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.github.fabricators_of_create.porting_lib.util.ServerLifecycleHooks;
+import net.minecraft.Util;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
@@ -18,6 +19,8 @@ import safro.zenith.network.ReloadListenerPacket;
 import safro.zenith.util.ZenithUtil;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * A Placebo JSON Reload Listener is a big pile of boilerplate for registering reload listeners efficiently.<br>
@@ -72,33 +75,59 @@ public abstract class PlaceboJsonReloadListener<V extends TypeKey<V>> extends Si
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	protected final void apply(Map<ResourceLocation, JsonElement> objects, ResourceManager pResourceManager, ProfilerFiller pProfiler) {
 		this.beginReload();
-		objects.forEach((key, ele) -> {
+		// Decoding is independent per file, so it is spread over the worker threads. Conditions may read the tags loaded by this reload,
+		// so they are checked here first, and registration stays on this thread, in the order of the files.
+		List<ResourceLocation> entries = new ArrayList<>(objects.size());
+		List<CompletableFuture<V>> decoded = new ArrayList<>(objects.size());
+		for (Map.Entry<ResourceLocation, JsonElement> entry : objects.entrySet()) {
+			ResourceLocation key = entry.getKey();
+			JsonElement ele = entry.getValue();
 			try {
-				if (checkAndLogEmpty(ele, key, this.path, this.logger) && checkConditions(ele, key, this.path, this.logger)) {
-					JsonObject obj = ele.getAsJsonObject();
-					V deserialized;
-					if (this.subtypes) {
-						deserialized = this.serializers.read(obj);
-					} else {
-						deserialized = this.serializers.get(DEFAULT).read(obj);
-					}
-					deserialized.setId(key);
-					Preconditions.checkNotNull(deserialized.getId(), "A " + this.path + " with id " + key + " failed to set ID.");
-					Preconditions.checkNotNull(deserialized.getSerializer(), "A " + this.path + " with id " + key + " is not declaring a serializer.");
-					Preconditions.checkNotNull(this.serializers.get(deserialized.getSerializer()), "A " + this.path + " with id " + key + " is declaring an unregistered serializer.");
-					this.register(key, deserialized);
-				}
+				if (!checkAndLogEmpty(ele, key, this.path, this.logger) || !checkConditions(ele, key, this.path, this.logger)) continue;
 			} catch (Exception e) {
 				this.logger.error("Failed parsing {} file {}.", this.path, key);
 				this.logger.error("Underlying Exception: ", e);
+				continue;
 			}
-		});
+			entries.add(key);
+			decoded.add(CompletableFuture.supplyAsync(() -> this.decode(key, ele), Util.backgroundExecutor()));
+		}
+		for (int i = 0; i < entries.size(); i++) {
+			ResourceLocation key = entries.get(i);
+			try {
+				V deserialized = decoded.get(i).join();
+				this.register(key, deserialized);
+			} catch (Exception e) {
+				Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				if (cause instanceof Error err) throw err;
+				this.logger.error("Failed parsing {} file {}.", this.path, key);
+				this.logger.error("Underlying Exception: ", cause);
+			}
+		}
 		this.onReload();
 	}
 
+	/**
+	 * Deserializes a single file, which has already passed the emptiness and condition checks.
+	 * Called from worker threads during reload, so it may not touch the registry of this listener.
+	 */
+	private V decode(ResourceLocation key, JsonElement ele) {
+		JsonObject obj = ele.getAsJsonObject();
+		V deserialized;
+		if (this.subtypes) {
+			deserialized = this.serializers.read(obj);
+		} else {
+			deserialized = this.serializers.get(DEFAULT).read(obj);
+		}
+		deserialized.setId(key);
+		Preconditions.checkNotNull(deserialized.getId(), "A " + this.path + " with id " + key + " failed to set ID.");
+		Preconditions.checkNotNull(deserialized.getSerializer(), "A " + this.path + " with id " + key + " is not declaring a serializer.");
+		Preconditions.checkNotNull(this.serializers.get(deserialized.getSerializer()), "A " + this.path + " with id " + key + " is declaring an unregistered serializer.");
+		return deserialized;
+	}
+
 	/**
 	 * Add all default serializers to this reload listener.
 	 * This should be a series of calls to {registerSerializer}
@@ -215,8 +244,7 @@ public abstract class PlaceboJsonReloadListener<V extends TypeKey<V>> extends Si
 	 * Checks if an item is empty, and if it is, returns false and logs the key.
 	 */
 	public static boolean checkAndLogEmpty(JsonElement e, ResourceLocation id, String type, Logger logger) {
-		String s = e.toString();
-		if (s.isEmpty() || s.equals("{}")) {
+		if (e.isJsonObject() && e.getAsJsonObject().size() == 0) {
 			logger.error("Ignoring {} item with id {} as it is empty.  Please switch to a condition-false json instead of an empty one.", type, id);
 			return false;
 		}
@@ -13,13 +13,16 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 public abstract class WeightedJsonReloadListener<V extends TypeKey<V> & WeightedJsonReloadListener.ILuckyWeighted> extends PlaceboJsonReloadListener<V> {
 
 	protected final List<Wrapper<V>> zeroLuckList = new ArrayList<>();
 	protected volatile int zeroLuckTotalWeight = 0;
+	protected final Map<ResourceLocation, Partition<V>> partitions = new ConcurrentHashMap<>();
 
 	public WeightedJsonReloadListener(Logger logger, String path, boolean synced, boolean subtypes) {
 		super(logger, path, synced, subtypes);
@@ -30,6 +33,7 @@ public abstract class WeightedJsonReloadListener<V extends TypeKey<V> & Weighted
 		super.beginReload();
 		this.zeroLuckList.clear();
 		this.zeroLuckTotalWeight = 0;
+		this.partitions.clear();
 	}
 
 	protected <T extends V> void validateItem(T item) {
@@ -83,6 +87,99 @@ public abstract class WeightedJsonReloadListener<V extends TypeKey<V> & Weighted
 		return WeightedRandom.getRandomItem(rand, list).map(Wrapper::getData).orElse(null);
 	}
 
+	/**
+	 * Gets a random item from this manager that is available in the given dimension, re-calculating the weights based on luck.<br>
+	 * Equivalent to {@link #getRandomItem(RandomSource, float, Predicate...)} with {@link IDimensional#matches(ResourceLocation)} as the first filter,
+	 * but the items of each dimension are partitioned ahead of time, and without further filters the draw is a binary search over cached weights.
+	 */
+	@Nullable
+	@SafeVarargs
+	public final V getRandomItem(RandomSource rand, float luck, ResourceLocation dimension, Predicate<V>... filters) {
+		Partition<V> partition = this.partitions.computeIfAbsent(dimension, dim -> new Partition<>(this.registry.values().stream().filter(v -> !(v instanceof IDimensional d) || IDimensional.matches(dim).test(d)).toList()));
+		return filters.length == 0 ? partition.getRandomItem(rand, luck) : partition.getRandomItem(rand, luck, filters);
+	}
+
+	/**
+	 * The items of this manager available in one dimension, in registry order.
+	 * Cumulative luck-adjusted weights are cached for the most recently used luck values, since luck takes few distinct values in practice.
+	 */
+	protected static class Partition<V extends ILuckyWeighted> {
+
+		private static final int MAX_CACHED_LUCK = 32;
+
+		private final List<V> items;
+		private final Map<Float, int[]> cumulative = new ConcurrentHashMap<>();
+
+		protected Partition(List<V> items) {
+			this.items = items;
+		}
+
+		@Nullable
+		public V getRandomItem(RandomSource rand, float luck) {
+			int[] weights = this.cumulative.get(luck);
+			if (weights == null) {
+				if (this.cumulative.size() >= MAX_CACHED_LUCK) this.cumulative.clear();
+				weights = this.computeCumulative(luck);
+				this.cumulative.put(luck, weights);
+			}
+			if (weights.length == 0 || weights[weights.length - 1] == 0) return null;
+			int target = rand.nextInt(weights[weights.length - 1]);
+			int lo = 0, hi = weights.length - 1;
+			while (lo < hi) { // First index whose cumulative weight exceeds the target, as WeightedRandom picks it.
+				int mid = (lo + hi) >>> 1;
+				if (weights[mid] > target) hi = mid;
+				else lo = mid + 1;
+			}
+			return this.items.get(lo);
+		}
+
+		/**
+		 * Filtered variant, which computes the weights in place instead of building a list of wrappers.
+		 */
+		@Nullable
+		@SafeVarargs
+		public final V getRandomItem(RandomSource rand, float luck, Predicate<V>... filters) {
+			long total = 0;
+			for (V item : this.items) {
+				if (matches(item, filters)) total += weigh(item, luck);
+			}
+			if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Sum of weights must be <= 2147483647");
+			if (total == 0) return null;
+			int target = rand.nextInt((int) total);
+			for (V item : this.items) {
+				if (!matches(item, filters)) continue;
+				target -= weigh(item, luck);
+				if (target < 0) return item;
+			}
+			return null;
+		}
+
+		private int[] computeCumulative(float luck) {
+			int[] weights = new int[this.items.size()];
+			long total = 0;
+			for (int i = 0; i < weights.length; i++) {
+				total += weigh(this.items.get(i), luck);
+				if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Sum of weights must be <= 2147483647");
+				weights[i] = (int) total;
+			}
+			return weights;
+		}
+
+		private static <V> boolean matches(V item, Predicate<V>[] filters) {
+			for (Predicate<V> filter : filters) {
+				if (!filter.test(item)) return false;
+			}
+			return true;
+		}
+
+		/**
+		 * @return The weight {@link ILuckyWeighted#wrap(ILuckyWeighted, float)} would give the item.
+		 */
+		private static int weigh(ILuckyWeighted item, float luck) {
+			return Math.max(0, item.getWeight() + (int) (luck * item.getQuality()));
+		}
+	}
+
 	/**
 	 * An item that will hold both a quality and a weight, for use with luck-based loot systems.
 	 * Luck increases the weight of an item by <quality> for each point of luck.
@@ -2,8 +2,10 @@ package safro.zenith.ench;
 
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.object.builder.v1.block.entity.FabricBlockEntityTypeBuilder;
 import net.fabricmc.fabric.api.screenhandler.v1.ExtendedScreenHandlerType;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagKey;
@@ -50,6 +52,8 @@ import safro.zenith.ench.objects.*;
 import safro.zenith.ench.replacements.BaneEnchant;
 import safro.zenith.ench.replacements.DefenseEnchant;
 import safro.zenith.ench.table.EnchantingStatManager;
+import safro.zenith.ench.table.EnchantmentCompatibility;
+import safro.zenith.ench.table.EnchantmentIndex;
 import safro.zenith.ench.table.ZenithEnchantContainer;
 import safro.zenith.ench.table.EnchantingRecipe;
 import safro.zenith.ench.table.KeepNBTEnchantingRecipe;
@@ -71,6 +75,7 @@ public class EnchModule {
 
 
     static Configuration enchInfoConfig;
+    public static boolean compiledPowerFunctions = false;
 
     // Enchantments
     public static final Enchantment LIFE_MENDING = register("life_mending", new LifeMendingEnchant());
@@ -201,6 +206,8 @@ public class EnchModule {
         reload(false);
 
         EnchModuleEvents.init();
+        ItemStorage.SIDED.registerForBlockEntities((tile, dir) -> ((EnchLibraryTile) tile).getStorage(), LIBRARY_TILE, ENDER_LIBRARY_TILE);
+        ServerTickEvents.END_SERVER_TICK.register(server -> EnchLibraryTile.flushPendingSyncs());
     }
 
 
@@ -255,6 +262,7 @@ public class EnchModule {
             ENCHANTMENT_INFO.put(ench, info);
             if (enchInfoConfig.hasChanged()) enchInfoConfig.save();
             LOGGER.error("Had to late load enchantment info for {}, this is a bug in the mod {} as they are registering late!", Registry.ENCHANTMENT.getKey(ench), Registry.ENCHANTMENT.getKey(ench).getNamespace());
+            EnchantmentIndex.rebuild();
         }
 
         return info;
@@ -282,15 +290,27 @@ public class EnchModule {
         return level;
     }
 
+    /**
+     * Recomputes the cached min/max power tables of all loaded enchantment info, and the {@link EnchantmentIndex} built from them.
+     * Also rebuilds the {@link EnchantmentCompatibility} matrix.
+     */
+    public static void bakePowerTables() {
+        ENCHANTMENT_INFO.values().forEach(EnchantmentInfo::bakePowerTables);
+        EnchantmentIndex.rebuild();
+        EnchantmentCompatibility.rebuild();
+    }
+
     public static void reload(boolean e) {
         enchInfoConfig = new Configuration(new File(Zenith.configDir, "enchantments.cfg"));
         enchInfoConfig.setTitle("Zenith Enchantment Information");
         enchInfoConfig.setComment("This file contains configurable data for each enchantment.\nThe names of each category correspond to the registry names of every loaded enchantment.");
+        compiledPowerFunctions = enchInfoConfig.getBoolean("Compiled Power Functions", "general", false, "If power functions are compiled to double-precision math instead of evaluated with BigDecimal math.  Levels 1 to 127 are only computed once per reload either way, and results may differ by rounding.");
         ENCHANTMENT_INFO.clear();
 
         for (Enchantment ench : Registry.ENCHANTMENT) {
             ENCHANTMENT_INFO.put(ench, EnchantmentInfo.load(ench, enchInfoConfig));
         }
+        bakePowerTables();
 
         for (Enchantment ench : Registry.ENCHANTMENT) {
             EnchantmentInfo info = ENCHANTMENT_INFO.get(ench);
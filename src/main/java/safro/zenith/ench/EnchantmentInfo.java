@@ -1,6 +1,8 @@
 package safro.zenith.ench;
 
 import java.math.BigDecimal;
+import java.util.function.DoubleUnaryOperator;
+import javax.annotation.Nullable;
 
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
@@ -15,6 +17,7 @@ public class EnchantmentInfo {
     protected final int maxLevel, maxLootLevel;
     protected final boolean treasure, discoverable, lootable, tradeable;
     protected final PowerFunc maxPower, minPower;
+    protected int[] maxPowerTable, minPowerTable;
 
     public EnchantmentInfo(Enchantment ench, int maxLevel, int maxLootLevel, PowerFunc max, PowerFunc min, boolean treasure, boolean discoverable, boolean lootable, boolean tradeable) {
         this.ench = ench;
@@ -42,13 +45,31 @@ public class EnchantmentInfo {
     }
 
     public int getMinPower(int level) {
+        int[] table = this.minPowerTable;
+        if (table != null && level > 0 && level < table.length) return table[level];
         return this.minPower.getPower(level);
     }
 
     public int getMaxPower(int level) {
+        int[] table = this.maxPowerTable;
+        if (table != null && level > 0 && level < table.length) return table[level];
         return this.maxPower.getPower(level);
     }
 
+    /**
+     * Precomputes the min and max power of every level from 1 to 127.
+     * Must be called again when anything the power functions depend on changes, such as {@link EnchantingStatManager#getAbsoluteMaxEterna()}.
+     */
+    public void bakePowerTables() {
+        int[] min = new int[128], max = new int[128];
+        for (int i = 1; i < 128; i++) {
+            min[i] = this.minPower.getPower(i);
+            max[i] = this.maxPower.getPower(i);
+        }
+        this.minPowerTable = min;
+        this.maxPowerTable = max;
+    }
+
     public boolean isDiscoverable() {
         return this.discoverable;
     }
@@ -72,8 +93,8 @@ public class EnchantmentInfo {
         int maxLoot = cfg.getInt("Max Loot Level", category, ench.getMaxLevel(), 1, 127, "The max level of this enchantment available from loot sources.");
         String maxF = cfg.getString("Max Power Function", category, "", "A function to determine the max enchanting power.  The variable \"x\" is level.  See: https://github.com/uklimaschewski/EvalEx#usage-examples");
         String minF = cfg.getString("Min Power Function", category, "", "A function to determine the min enchanting power.");
-        PowerFunc maxPower = maxF.isEmpty() ? defaultMax(ench) : new ExpressionPowerFunc(maxF);
-        PowerFunc minPower = minF.isEmpty() ? defaultMin(ench) : new ExpressionPowerFunc(minF);
+        PowerFunc maxPower = maxF.isEmpty() ? defaultMax(ench) : new ExpressionPowerFunc(maxF, EnchModule.compiledPowerFunctions);
+        PowerFunc minPower = minF.isEmpty() ? defaultMin(ench) : new ExpressionPowerFunc(minF, EnchModule.compiledPowerFunctions);
         boolean treasure = cfg.getBoolean("Treasure", category, ench.isTreasureOnly(), "If this enchantment is only available by loot sources.");
         boolean discoverable = cfg.getBoolean("Discoverable", category, ench.isDiscoverable(), "If this enchantment is obtainable via enchanting and enchanted loot items.");
         boolean lootable = cfg.getBoolean("Lootable", category, ench.isDiscoverable(), "If enchanted books of this enchantment are available via loot sources.");
@@ -96,16 +117,29 @@ public class EnchantmentInfo {
         int getPower(int level);
     }
 
+    /**
+     * Power function backed by an {@link Expression}.
+     * Evaluates with the expression's BigDecimal math, unless compiled to a double-precision form by {@link EnchModule#compiledPowerFunctions}.
+     * The compiled form skips the per-operation rounding of the BigDecimal math, so the two may disagree (ex. {@code 2 ^ x} or {@code x / 3 * 3}).
+     */
     public static class ExpressionPowerFunc implements PowerFunc {
 
         Expression ex;
+        @Nullable
+        DoubleUnaryOperator compiled;
 
-        public ExpressionPowerFunc(String func) {
+        public ExpressionPowerFunc(String func, boolean compile) {
             this.ex = new Expression(func);
+            this.compiled = compile ? this.ex.compile("x") : null;
         }
 
         @Override
         public int getPower(int level) {
+            if (this.compiled != null) return (int) this.compiled.applyAsDouble(level);
+            return this.getDecimalPower(level);
+        }
+
+        public synchronized int getDecimalPower(int level) {
             return this.ex.setVariable("x", new BigDecimal(level)).eval().intValue();
         }
 
@@ -1,7 +1,7 @@
 package safro.zenith.ench.enchantments.masterwork;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
@@ -24,8 +24,9 @@ import safro.zenith.ench.EnchModule;
 import safro.zenith.util.ZenithUtil;
 import safro.zenith.util.BlockUtil;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.BooleanSupplier;
 
@@ -69,61 +70,66 @@ public class ChainsawEnchant extends Enchantment implements TableApplicableEncha
 		Level level = player.level;
 		ItemStack stack = player.getMainHandItem();
 		int enchLevel = EnchantmentHelper.getItemEnchantmentLevel(EnchModule.CHAINSAW, stack);
-		if (player.getClass() == ServerPlayer.class && enchLevel > 0 && !level.isClientSide && isTree(level, pos, state)) {
-			if (!player.getAbilities().instabuild) TaskQueue.submitTask("zenith:chainsaw_task", new ChainsawTask(player.getUUID(), stack, level, pos));
+		if (player.getClass() == ServerPlayer.class && enchLevel > 0 && !level.isClientSide && !player.getAbilities().instabuild && FellingPlanner.isTree((ServerLevel) level, pos, state)) {
+			TaskQueue.submitTask((ServerLevel) level, "zenith:chainsaw_task", new ChainsawTask(player.getUUID(), stack, (ServerLevel) level, FellingPlanner.plan((ServerLevel) level, pos)));
 		}
 	}
 
-	private static boolean isTree(Level level, BlockPos pos, BlockState state) {
-		if (!state.is(BlockTags.LOGS)) return false;
-		while (state.is(BlockTags.LOGS)) {
-			state = level.getBlockState(pos = pos.above());
-		}
-		for (BlockPos p : BlockPos.betweenClosed(pos.offset(-2, -2, -2), pos.offset(2, 2, 2))) {
-			if (level.getBlockState(p).is(BlockTags.LEAVES)) return true;
-		}
-		return false;
-	}
-
+	/**
+	 * Works through a {@link FellingPlanner.Plan} one layer at a time, breaking a few logs every other tick.
+	 * A log is only broken if the log it was reached from was, so protected logs still hold up the tree above them.
+	 */
 	private static class ChainsawTask implements BooleanSupplier {
 
 		UUID owner;
 		ItemStack axe;
 		ServerLevel level;
-		Int2ObjectMap<Queue<BlockPos>> hits = new Int2ObjectOpenHashMap<>();
+		FellingPlanner.Plan plan;
+		BitSet broken = new BitSet();
+		int cursor = 1;
 		int ticks = 0;
 
-		public ChainsawTask(UUID owner, ItemStack axe, Level level, BlockPos pos) {
+		public ChainsawTask(UUID owner, ItemStack axe, ServerLevel level, FellingPlanner.Plan plan) {
 			this.owner = owner;
 			this.axe = axe;
-			this.level = (ServerLevel) level;
-			this.hits.computeIfAbsent(pos.getY(), i -> new ArrayDeque<>()).add(pos);
+			this.level = level;
+			this.plan = plan;
+			this.broken.set(0); // The root is broken by the player.
 		}
 
 		@Override
 		public boolean getAsBoolean() {
 			if (++this.ticks % 2 != 0) return false;
-			if (this.axe.isEmpty()) return true;
-			int minY = this.hits.keySet().intStream().min().getAsInt();
-			Queue<BlockPos> queue = this.hits.get(minY);
+			if (this.axe.isEmpty() || this.cursor >= this.plan.size()) return true;
+			int layer = this.plan.getY(this.cursor);
 			int breaks = 0;
-			while (!queue.isEmpty()) {
-				BlockPos pos = queue.poll();
-				for (BlockPos p : BlockPos.betweenClosed(pos.offset(-1, 0, -1), pos.offset(1, 1, 1))) {
-					if (p.equals(pos)) continue;
-					BlockState state = this.level.getBlockState(p);
-					if (state.is(BlockTags.LOGS)) {
-						BlockUtil.breakExtraBlock(this.level, p, this.axe, this.owner);
-						if (!this.level.getBlockState(p).is(BlockTags.LOGS)) { // Ensure a change happened
-							this.hits.computeIfAbsent(p.getY(), i -> new ArrayDeque<>()).add(p.immutable());
-							breaks++;
+			List<BlockPos> batch = new ArrayList<>();
+			IntList batchIdx = new IntArrayList();
+			while (this.cursor < this.plan.size() && this.plan.getY(this.cursor) == layer && breaks <= 5) {
+				batch.clear();
+				batchIdx.clear();
+				while (this.cursor < this.plan.size() && this.plan.getY(this.cursor) == layer && breaks + batch.size() <= 5) {
+					int parent = this.plan.getParent(this.cursor);
+					if (batchIdx.contains(parent)) break; // Wait to see if the parent actually breaks.
+					if (this.broken.get(parent)) {
+						BlockPos pos = this.plan.getPos(this.cursor);
+						if (this.level.getBlockState(pos).is(BlockTags.LOGS)) {
+							batch.add(pos);
+							batchIdx.add(this.cursor);
 						}
 					}
+					this.cursor++;
+				}
+				BlockUtil.breakExtraBlocks(this.level, batch, this.axe, this.owner);
+				for (int i = 0; i < batch.size(); i++) {
+					if (!this.level.getBlockState(batch.get(i)).is(BlockTags.LOGS)) { // Ensure a change happened
+						this.broken.set(batchIdx.getInt(i));
+						breaks++;
+					}
 				}
-				if (breaks > 5) break;
+				if (this.axe.isEmpty()) return true;
 			}
-			if (queue.isEmpty()) this.hits.remove(minY);
-			return this.hits.isEmpty();
+			return this.cursor >= this.plan.size();
 		}
 
 	}
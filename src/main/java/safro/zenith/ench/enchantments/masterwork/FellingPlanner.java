@@ -0,0 +1,126 @@
+package safro.zenith.ench.enchantments.masterwork;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.block.state.BlockState;
+import safro.zenith.util.SectionReader;
+
+/**
+ * Plans the logs a Chainsaw felling will break, reading block states straight from the chunk sections.
+ * The plan is ordered the way felling proceeds: layer by layer from the bottom, each log after the log it was reached from.
+ */
+public class FellingPlanner {
+
+	/**
+	 * The most logs a single felling may plan, so a log structure attached to a tree cannot run away.
+	 */
+	public static final int MAX_LOGS = 2048;
+
+	/**
+	 * Checks if the log at the given position is the base of a tree, by walking up the trunk and looking for leaves around its top.
+	 * Not cached, since the log being checked is broken right after, and a log placed there later may not be part of a tree.
+	 */
+	public static boolean isTree(ServerLevel level, BlockPos pos, BlockState state) {
+		if (!state.is(BlockTags.LOGS)) return false;
+		SectionReader reader = new SectionReader(level);
+		int x = pos.getX(), y = pos.getY(), z = pos.getZ();
+		do {
+			y++;
+		} while (reader.getBlockState(x, y, z).is(BlockTags.LOGS));
+		for (int dy = -2; dy <= 2; dy++) {
+			for (int dx = -2; dx <= 2; dx++) {
+				for (int dz = -2; dz <= 2; dz++) {
+					if (reader.getBlockState(x + dx, y + dy, z + dz).is(BlockTags.LEAVES)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Plans the felling of the tree rooted at the given position. The root is always the first entry of the plan.
+	 */
+	public static Plan plan(ServerLevel level, BlockPos root) {
+		SectionReader reader = new SectionReader(level);
+		LongArrayList positions = new LongArrayList();
+		IntArrayList parents = new IntArrayList();
+		LongSet seen = new LongOpenHashSet();
+		// One layer is expanded at a time, and logs found on the same layer join the layer being expanded.
+		// Logs found on the layer above are held back until this layer is drained, so the plan stays ordered by layer.
+		IntArrayFIFOQueue layer = new IntArrayFIFOQueue();
+		LongArrayList nextPositions = new LongArrayList();
+		IntArrayList nextParents = new IntArrayList();
+		BlockPos.MutableBlockPos mPos = new BlockPos.MutableBlockPos();
+
+		positions.add(root.asLong());
+		parents.add(-1);
+		seen.add(root.asLong());
+		layer.enqueue(0);
+		while (!layer.isEmpty()) {
+			while (!layer.isEmpty() && positions.size() + nextPositions.size() < MAX_LOGS) {
+				int idx = layer.dequeueInt();
+				mPos.set(positions.getLong(idx));
+				int x = mPos.getX(), y = mPos.getY(), z = mPos.getZ();
+				neighbours:
+				for (int dx = -1; dx <= 1; dx++) {
+					for (int dy = 0; dy <= 1; dy++) {
+						for (int dz = -1; dz <= 1; dz++) {
+							if (dx == 0 && dy == 0 && dz == 0) continue;
+							long p = BlockPos.asLong(x + dx, y + dy, z + dz);
+							if (seen.contains(p) || !reader.getBlockState(x + dx, y + dy, z + dz).is(BlockTags.LOGS)) continue;
+							seen.add(p);
+							if (dy == 0) {
+								positions.add(p);
+								parents.add(idx);
+								layer.enqueue(positions.size() - 1);
+							} else {
+								nextPositions.add(p);
+								nextParents.add(idx);
+							}
+							if (positions.size() + nextPositions.size() >= MAX_LOGS) break neighbours;
+						}
+					}
+				}
+			}
+			layer.clear();
+			for (int i = 0; i < nextPositions.size(); i++) {
+				positions.add(nextPositions.getLong(i));
+				parents.add(nextParents.getInt(i));
+				layer.enqueue(positions.size() - 1);
+			}
+			nextPositions.clear();
+			nextParents.clear();
+		}
+		return new Plan(positions.toLongArray(), parents.toIntArray());
+	}
+
+	/**
+	 * An ordered felling plan. Each entry records the index of the entry it was reached from, or -1 for the root.
+	 */
+	public record Plan(long[] positions, int[] parents) {
+
+		public int size() {
+			return this.positions.length;
+		}
+
+		public BlockPos getPos(int index) {
+			return BlockPos.of(this.positions[index]);
+		}
+
+		public int getY(int index) {
+			return BlockPos.getY(this.positions[index]);
+		}
+
+		public int getParent(int index) {
+			return this.parents[index];
+		}
+	}
+}
@@ -104,7 +104,7 @@ public class EnchLibraryBlock extends HorizontalDirectionalBlock implements Enti
 		list.add(Component.translatable("tooltip.enchlib.capacity", Component.translatable("enchantment.level." + this.maxLevel)).withStyle(ChatFormatting.GOLD));
 		CompoundTag tag = stack.getTagElement("BlockEntityTag");
 		if (tag != null && tag.contains("Points")) {
-			list.add(Component.translatable("tooltip.enchlib.item", tag.getCompound("Points").size()).withStyle(ChatFormatting.GOLD));
+			list.add(Component.translatable("tooltip.enchlib.item", EnchLibraryTile.countStored(tag)).withStyle(ChatFormatting.GOLD));
 		}
 	}
 
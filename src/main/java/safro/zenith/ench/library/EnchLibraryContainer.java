@@ -5,6 +5,7 @@ import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Registry;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.SimpleContainer;
@@ -24,18 +25,22 @@ import java.util.stream.IntStream;
 
 public class EnchLibraryContainer extends BlockEntityContainer<EnchLibraryTile> implements IButtonContainer {
 	protected SimpleContainer ioInv = new SimpleContainer(3);
+	protected final Player player;
 
 	protected Runnable notifier = null;
 
 	public EnchLibraryContainer(int id, Inventory inv, FriendlyByteBuf buf) {
 		super(EnchModule.LIBRARY_CONTAINER, id, inv, buf.readBlockPos());
+		this.player = inv.player;
 		this.tile.addListener(this);
 		this.initCommon(inv);
 	}
 
 	public EnchLibraryContainer(int id, Inventory inv, BlockPos pos) {
 		super(EnchModule.LIBRARY_CONTAINER, id, inv, pos);
+		this.player = inv.player;
 		this.tile.addListener(this);
+		if (this.player instanceof ServerPlayer sp) this.tile.sendFullState(sp);
 		this.initCommon(inv);
 	}
 
@@ -110,13 +115,13 @@ public class EnchLibraryContainer extends BlockEntityContainer<EnchLibraryTile>
 	}
 
 	public int getNumStoredEnchants() {
-		return (int) this.tile.getPointsMap().values().intStream().filter(s -> s > 0).count();
+		return this.tile.getStoredPoints().size();
 	}
 
 
 
 	public List<Object2IntMap.Entry<Enchantment>> getPointsForDisplay() {
-		return this.tile.getPointsMap().object2IntEntrySet().stream().filter(s -> s.getIntValue() > 0).toList();
+		return this.tile.getStoredPoints();
 	}
 
 	public int getMaxLevel(Enchantment enchant) {
@@ -142,7 +147,7 @@ public class EnchLibraryContainer extends BlockEntityContainer<EnchLibraryTile>
 		Enchantment ench = Registry.ENCHANTMENT.byId(id);
 		ItemStack outSlot = this.ioInv.getItem(1);
 		int curLvl = EnchantmentHelper.getEnchantments(outSlot).getOrDefault(ench, 0);
-		int targetLevel = shift ? Math.min(this.tile.getMax(ench), 1 + (int) (Math.log(this.tile.getPointsMap().getInt(ench) + EnchLibraryTile.levelToPoints(curLvl)) / Math.log(2))) : curLvl + 1;
+		int targetLevel = shift ? Math.min(this.tile.getMax(ench), 1 + (int) (Math.log(this.tile.getPoints(ench) + EnchLibraryTile.levelToPoints(curLvl)) / Math.log(2))) : curLvl + 1;
 		if (!this.tile.canExtract(ench, targetLevel, curLvl)) return;
 		if (outSlot.isEmpty()) outSlot = new ItemStack(Items.ENCHANTED_BOOK);
 		this.tile.extractEnchant(outSlot, ench, targetLevel);
@@ -0,0 +1,73 @@
+package safro.zenith.ench.library;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.InsertionOnlyStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.EnchantedBookItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Insert-only item storage for an {@link EnchLibraryTile}, exposed to hoppers and other automation.<br>
+ * Books inserted in a transaction are deposited when it commits, and the library is saved and synced once at the end of the tick.<br>
+ * At most {@link #MAX_INSERT} books are accepted per call, so capacity probes with huge amounts stay cheap.
+ */
+public class EnchLibraryStorage extends SnapshotParticipant<Integer> implements InsertionOnlyStorage<ItemVariant> {
+
+	public static final int MAX_INSERT = 64;
+
+	protected final EnchLibraryTile tile;
+	protected final List<Pending> pending = new ArrayList<>();
+
+	public EnchLibraryStorage(EnchLibraryTile tile) {
+		this.tile = tile;
+	}
+
+	@Override
+	public long insert(ItemVariant resource, long maxAmount, TransactionContext transaction) {
+		StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+		if (!resource.isOf(Items.ENCHANTED_BOOK) || maxAmount == 0) return 0;
+		CompoundTag tag = resource.getNbt();
+		if (tag == null || tag.getList(EnchantedBookItem.TAG_STORED_ENCHANTMENTS, Tag.TAG_COMPOUND).isEmpty()) return 0;
+		int count = (int) Math.min(maxAmount, MAX_INSERT);
+		this.updateSnapshots(transaction);
+		this.pending.add(new Pending(resource, count));
+		return count;
+	}
+
+	@Override
+	protected Integer createSnapshot() {
+		return this.pending.size();
+	}
+
+	@Override
+	protected void readSnapshot(Integer snapshot) {
+		this.pending.subList(snapshot, this.pending.size()).clear();
+	}
+
+	@Override
+	protected void onFinalCommit() {
+		for (Pending p : this.pending) {
+			ItemStack book = p.variant().toStack();
+			for (int i = 0; i < p.count(); i++) {
+				this.tile.addBook(book);
+			}
+		}
+		this.pending.clear();
+		this.tile.scheduleSync();
+	}
+
+	/**
+	 * Books accepted by one insert call, which are only turned into a stack on commit.
+	 */
+	protected record Pending(ItemVariant variant, int count) {
+	}
+
+}
@@ -1,16 +1,20 @@
 package safro.zenith.ench.library;
 
-import io.github.fabricators_of_create.porting_lib.block.CustomDataPacketHandlingBlockEntity;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.AbstractObject2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.fabricmc.fabric.api.screenhandler.v1.ExtendedScreenHandlerFactory;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Registry;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.network.Connection;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Inventory;
@@ -26,18 +30,39 @@ import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 import safro.zenith.ench.EnchModule;
-import safro.zenith.network.NetworkUtil;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public abstract class EnchLibraryTile extends BlockEntity implements CustomDataPacketHandlingBlockEntity, ExtendedScreenHandlerFactory {
-	protected final Object2IntMap<Enchantment> points = new Object2IntOpenHashMap<>();
-	protected final Object2IntMap<Enchantment> maxLevels = new Object2IntOpenHashMap<>();
+public abstract class EnchLibraryTile extends BlockEntity implements ExtendedScreenHandlerFactory {
+	/**
+	 * Libraries that received books through {@link EnchLibraryStorage} this tick, which are saved and synced at the end of the tick.
+	 */
+	private static final Set<EnchLibraryTile> PENDING_SYNC = new HashSet<>();
+
+	/**
+	 * Enchantments by registry key string, so loading does not parse a ResourceLocation per entry.
+	 */
+	private static final Map<String, Enchantment> ENCH_BY_KEY = new HashMap<>();
+
+	/**
+	 * Points and max levels of every enchantment, indexed by enchantment raw id.
+	 */
+	protected int[] points = new int[0];
+	protected int[] maxLevels = new int[0];
 	protected final Set<EnchLibraryContainer> activeContainers = new HashSet<>();
+	/**
+	 * Raw ids of enchantments whose points or max level changed since the last sync to {@link #activeContainers}.
+	 */
+	protected final IntSet changed = new IntOpenHashSet();
 	protected final int maxLevel;
 	protected final int maxPoints;
+	protected final EnchLibraryStorage storage = new EnchLibraryStorage(this);
 
 	public EnchLibraryTile(BlockEntityType<?> type, BlockPos pos, BlockState state, int maxLevel) {
 		super(type, pos, state);
@@ -53,17 +78,25 @@ public abstract class EnchLibraryTile extends BlockEntity implements CustomDataP
 	 */
 	public void depositBook(ItemStack book) {
 		if (book.getItem() != Items.ENCHANTED_BOOK) return;
+		this.addBook(book);
+		this.syncChanges();
+		this.setChanged();
+	}
+
+	/**
+	 * Updates the points and max levels maps with the enchantments of a book, without saving or syncing this library.
+	 */
+	protected void addBook(ItemStack book) {
 		Map<Enchantment, Integer> enchs = EnchantmentHelper.getEnchantments(book);
 		for (Map.Entry<Enchantment, Integer> e : enchs.entrySet()) {
 			if (e.getKey() == null || e.getValue() == null) continue;
-			Enchantment en = makeValid(e);
-			int newPoints = Math.min(this.maxPoints, this.points.getInt(en) + levelToPoints(e.getValue()));
+			int id = this.ensureCapacity(makeValid(e));
+			int newPoints = Math.min(this.maxPoints, this.points[id] + levelToPoints(e.getValue()));
 			if (newPoints < 0) newPoints = maxPoints;
-			this.points.put(en, newPoints);
-			this.maxLevels.put(en, Math.min(this.maxLevel, Math.max(this.maxLevels.getInt(en), e.getValue())));
+			this.points[id] = newPoints;
+			this.maxLevels[id] = Math.min(this.maxLevel, Math.max(this.maxLevels[id], e.getValue()));
+			this.changed.add(id);
 		}
-		if (enchs.size() > 0) NetworkUtil.dispatchTEToNearbyPlayers(this);
-		this.setChanged();
 	}
 
 	/**
@@ -78,10 +111,10 @@ public abstract class EnchLibraryTile extends BlockEntity implements CustomDataP
 		Map<Enchantment, Integer> enchs = EnchantmentHelper.getEnchantments(stack);
 		enchs.put(valid, level);
 		EnchantmentHelper.setEnchantments(enchs, stack);
-		this.points.put(valid, Math.max(0, (this.points.getInt(ench) - levelToPoints(level) + levelToPoints(curLvl)))); //Safety, should never be below zero anyway.
-		this.points.forEach((s,v) -> {
-			if (v == 0) points.remove(s,0);});
-		if (!this.level.isClientSide()) NetworkUtil.dispatchTEToNearbyPlayers(this);
+		int id = this.ensureCapacity(valid);
+		this.points[id] = Math.max(0, (this.getPoints(ench) - levelToPoints(level) + levelToPoints(curLvl))); //Safety, should never be below zero anyway.
+		this.changed.add(id);
+		if (!this.level.isClientSide()) this.syncChanges();
 		this.setChanged();
 	}
 
@@ -93,7 +126,7 @@ public abstract class EnchLibraryTile extends BlockEntity implements CustomDataP
 	 * @return If this level of this enchantment can be extracted.
 	 */
 	public boolean canExtract(Enchantment ench, int level, int currentLevel) {
-		return this.maxLevels.getInt(ench) >= level && this.points.getInt(ench) >= levelToPoints(level) - levelToPoints(currentLevel);
+		return this.getLevel(ench) >= level && this.getPoints(ench) >= levelToPoints(level) - levelToPoints(currentLevel);
 	}
 
 	/**
@@ -107,81 +140,200 @@ public abstract class EnchLibraryTile extends BlockEntity implements CustomDataP
 
 	@Override
 	public void saveAdditional(CompoundTag tag) {
-		CompoundTag points = new CompoundTag();
-		for (Object2IntMap.Entry<Enchantment> e : this.points.object2IntEntrySet()) {
-			points.putInt(Registry.ENCHANTMENT.getKey(e.getKey()).toString(), e.getIntValue());
-		}
-		tag.put("Points", points);
-		CompoundTag levels = new CompoundTag();
-		for (Object2IntMap.Entry<Enchantment> e : this.maxLevels.object2IntEntrySet()) {
-			levels.putInt(Registry.ENCHANTMENT.getKey(e.getKey()).toString(), e.getIntValue());
+		// Stored enchantments are saved as a key table with matching point and level arrays, so raw ids may change between loads.
+		ListTag keys = new ListTag();
+		IntArrayList points = new IntArrayList(), levels = new IntArrayList();
+		for (int id = 0; id < this.points.length; id++) {
+			if (this.points[id] == 0 && this.maxLevels[id] == 0) continue;
+			String key = getKey(id);
+			if (key == null) continue;
+			keys.add(StringTag.valueOf(key));
+			points.add(this.points[id]);
+			levels.add(this.maxLevels[id]);
 		}
-		tag.put("Levels", levels);
+		tag.put("Enchantments", keys);
+		tag.putIntArray("Points", points.toIntArray());
+		tag.putIntArray("Levels", levels.toIntArray());
 		super.saveAdditional(tag);
 	}
 
 	@Override
 	public void load(CompoundTag tag) {
 		super.load(tag);
-		CompoundTag points = tag.getCompound("Points");
-		for (String s : points.getAllKeys()) {
-			Enchantment ench = Registry.ENCHANTMENT.get(new ResourceLocation(s));
-			if (ench == null) continue;
-			this.points.put(ench, points.getInt(s));
+		this.points = new int[0];
+		this.maxLevels = new int[0];
+		if (tag.contains("Points", Tag.TAG_COMPOUND)) {
+			this.loadLegacy(tag);
+			return;
 		}
-		CompoundTag levels = tag.getCompound("Levels");
-		for (String s : levels.getAllKeys()) {
-			Enchantment ench = Registry.ENCHANTMENT.get(new ResourceLocation(s));
+		ListTag keys = tag.getList("Enchantments", Tag.TAG_STRING);
+		int[] points = tag.getIntArray("Points"), levels = tag.getIntArray("Levels");
+		int size = Math.min(keys.size(), Math.min(points.length, levels.length));
+		for (int i = 0; i < size; i++) {
+			Enchantment ench = byKey(keys.getString(i));
 			if (ench == null) continue;
-			this.maxLevels.put(ench, levels.getInt(s));
+			int id = this.ensureCapacity(ench);
+			this.points[id] = points[i];
+			this.maxLevels[id] = levels[i];
 		}
 	}
 
-	@Override
-	public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt) {
-		CompoundTag tag = pkt.getTag();
+	/**
+	 * Loads the old format, where points and levels were compounds keyed by enchantment id.
+	 */
+	private void loadLegacy(CompoundTag tag) {
 		CompoundTag points = tag.getCompound("Points");
 		for (String s : points.getAllKeys()) {
-			Enchantment ench = Registry.ENCHANTMENT.get(new ResourceLocation(s));
+			Enchantment ench = byKey(s);
 			if (ench == null) continue;
-			this.points.put(ench, points.getInt(s));
+			int id = this.ensureCapacity(ench);
+			this.points[id] = points.getInt(s);
 		}
 		CompoundTag levels = tag.getCompound("Levels");
 		for (String s : levels.getAllKeys()) {
-			Enchantment ench = Registry.ENCHANTMENT.get(new ResourceLocation(s));
+			Enchantment ench = byKey(s);
 			if (ench == null) continue;
-			this.maxLevels.put(ench, levels.getInt(s));
+			int id = this.ensureCapacity(ench);
+			this.maxLevels[id] = levels.getInt(s);
 		}
-		this.activeContainers.forEach(EnchLibraryContainer::onChanged);
 	}
 
-	@Override
-	public ClientboundBlockEntityDataPacket getUpdatePacket() {
-		return ClientboundBlockEntityDataPacket.create(this);
+	/**
+	 * Counts the enchantments stored in a saved library, for tooltips.
+	 */
+	public static int countStored(CompoundTag tag) {
+		if (tag.contains("Points", Tag.TAG_COMPOUND)) return tag.getCompound("Points").size();
+		int count = 0;
+		for (int p : tag.getIntArray("Points")) {
+			if (p > 0) count++;
+		}
+		return count;
 	}
 
-	@Override
-	public CompoundTag getUpdateTag() {
-		CompoundTag tag = super.getUpdateTag();
-		CompoundTag points = new CompoundTag();
-		for (Object2IntMap.Entry<Enchantment> e : this.points.object2IntEntrySet()) {
-			points.putInt(Registry.ENCHANTMENT.getKey(e.getKey()).toString(), e.getIntValue());
+	/**
+	 * Grows the point and level arrays to fit the enchantment, if needed.
+	 * @return The raw id of the enchantment.
+	 */
+	protected int ensureCapacity(Enchantment ench) {
+		int id = Registry.ENCHANTMENT.getId(ench);
+		if (id >= this.points.length) {
+			int size = Math.max(id + 1, Registry.ENCHANTMENT.size());
+			this.points = Arrays.copyOf(this.points, size);
+			this.maxLevels = Arrays.copyOf(this.maxLevels, size);
 		}
-		tag.put("Points", points);
-		CompoundTag levels = new CompoundTag();
-		for (Object2IntMap.Entry<Enchantment> e : this.maxLevels.object2IntEntrySet()) {
-			levels.putInt(Registry.ENCHANTMENT.getKey(e.getKey()).toString(), e.getIntValue());
+		return id;
+	}
+
+	@Nullable
+	private static String getKey(int id) {
+		// Not cached, raw ids are remapped by registry sync for every world.
+		Enchantment ench = Registry.ENCHANTMENT.byId(id);
+		return ench == null ? null : Registry.ENCHANTMENT.getKey(ench).toString();
+	}
+
+	@Nullable
+	private static Enchantment byKey(String key) {
+		synchronized (ENCH_BY_KEY) {
+			return ENCH_BY_KEY.computeIfAbsent(key, k -> {
+				ResourceLocation id = ResourceLocation.tryParse(k);
+				return id == null ? null : Registry.ENCHANTMENT.get(id);
+			});
 		}
-		tag.put("Levels", levels);
-		return tag;
 	}
 
-	public Object2IntMap<Enchantment> getPointsMap() {
-		return this.points;
+	/**
+	 * Sends every changed enchantment to the players viewing this library.
+	 */
+	public void syncChanges() {
+		if (this.changed.isEmpty()) return;
+		for (EnchLibraryContainer ctr : this.activeContainers) {
+			if (ctr.player instanceof ServerPlayer player) LibrarySyncMessage.sendTo(player, this, false, this.changed);
+		}
+		this.changed.clear();
+	}
+
+	/**
+	 * Marks this library to be saved and synced at the end of the tick.
+	 */
+	protected void scheduleSync() {
+		PENDING_SYNC.add(this);
+	}
+
+	/**
+	 * Saves and syncs every library that received books through automation this tick.
+	 */
+	public static void flushPendingSyncs() {
+		if (PENDING_SYNC.isEmpty()) return;
+		for (EnchLibraryTile tile : PENDING_SYNC) {
+			tile.syncChanges();
+			tile.setChanged();
+		}
+		PENDING_SYNC.clear();
+	}
+
+	public EnchLibraryStorage getStorage() {
+		return this.storage;
+	}
+
+	/**
+	 * Sends the full contents of this library to a player, when they open it.
+	 */
+	public void sendFullState(ServerPlayer player) {
+		IntList ids = new IntArrayList();
+		for (int id = 0; id < this.points.length; id++) {
+			if (this.points[id] != 0 || this.maxLevels[id] != 0) ids.add(id);
+		}
+		LibrarySyncMessage.sendTo(player, this, true, ids);
+	}
+
+	/**
+	 * Applies a {@link LibrarySyncMessage} on the client.
+	 */
+	public void acceptSync(boolean full, int[] ids, int[] points, int[] levels) {
+		if (full) {
+			Arrays.fill(this.points, 0);
+			Arrays.fill(this.maxLevels, 0);
+		}
+		for (int i = 0; i < ids.length; i++) {
+			Enchantment ench = Registry.ENCHANTMENT.byId(ids[i]);
+			if (ench == null) continue;
+			int id = this.ensureCapacity(ench);
+			this.points[id] = points[i];
+			this.maxLevels[id] = levels[i];
+		}
+		this.activeContainers.forEach(EnchLibraryContainer::onChanged);
+	}
+
+	public int getPoints(Enchantment ench) {
+		return this.getPoints(Registry.ENCHANTMENT.getId(ench));
+	}
+
+	public int getPoints(int id) {
+		return id >= 0 && id < this.points.length ? this.points[id] : 0;
 	}
 
-	public Object2IntMap<Enchantment> getLevelsMap() {
-		return this.maxLevels;
+	/**
+	 * @return The highest level of this enchantment deposited, which may exceed the cap of this library.
+	 */
+	public int getLevel(Enchantment ench) {
+		return this.getLevel(Registry.ENCHANTMENT.getId(ench));
+	}
+
+	public int getLevel(int id) {
+		return id >= 0 && id < this.maxLevels.length ? this.maxLevels[id] : 0;
+	}
+
+	/**
+	 * @return Every enchantment with points stored in this library.
+	 */
+	public List<Object2IntMap.Entry<Enchantment>> getStoredPoints() {
+		List<Object2IntMap.Entry<Enchantment>> list = new ArrayList<>();
+		for (int id = 0; id < this.points.length; id++) {
+			if (this.points[id] <= 0) continue;
+			Enchantment ench = Registry.ENCHANTMENT.byId(id);
+			if (ench != null) list.add(new AbstractObject2IntMap.BasicEntry<>(ench, this.points[id]));
+		}
+		return list;
 	}
 
 	public void addListener(EnchLibraryContainer ctr) {
@@ -193,7 +345,7 @@ public abstract class EnchLibraryTile extends BlockEntity implements CustomDataP
 	}
 
 	public int getMax(Enchantment ench) {
-		return Math.min(this.maxLevel, this.maxLevels.getInt(ench));
+		return Math.min(this.maxLevel, this.getLevel(ench));
 	}
 
 	public void writeScreenOpeningData(ServerPlayer player, FriendlyByteBuf buf) {
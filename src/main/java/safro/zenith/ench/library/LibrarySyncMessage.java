@@ -0,0 +1,56 @@
+package safro.zenith.ench.library;
+
+import it.unimi.dsi.fastutil.ints.IntCollection;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import safro.zenith.Zenith;
+
+/**
+ * Syncs the contents of an {@link EnchLibraryTile} to players viewing it.<br>
+ * The full contents are sent when a library is opened, and only the changed enchantments afterwards,
+ * as (raw id, points, max level) varint triples.
+ */
+public class LibrarySyncMessage {
+	public static ResourceLocation ID = new ResourceLocation(Zenith.MODID, "library_sync");
+
+	public static void init() {
+		ClientPlayNetworking.registerGlobalReceiver(ID, (client, handler, buf, responseSender) -> {
+			BlockPos pos = buf.readBlockPos();
+			boolean full = buf.readBoolean();
+			int size = buf.readVarInt();
+			int[] ids = new int[size], points = new int[size], levels = new int[size];
+			for (int i = 0; i < size; i++) {
+				ids[i] = buf.readVarInt();
+				points[i] = buf.readVarInt();
+				levels[i] = buf.readVarInt();
+			}
+			client.execute(() -> {
+				if (client.level != null && client.level.getBlockEntity(pos) instanceof EnchLibraryTile tile) {
+					tile.acceptSync(full, ids, points, levels);
+				}
+			});
+		});
+	}
+
+	public static void sendTo(ServerPlayer player, EnchLibraryTile tile, boolean full, IntCollection ids) {
+		FriendlyByteBuf buf = PacketByteBufs.create();
+		buf.writeBlockPos(tile.getBlockPos());
+		buf.writeBoolean(full);
+		buf.writeVarInt(ids.size());
+		IntIterator it = ids.iterator();
+		while (it.hasNext()) {
+			int id = it.nextInt();
+			buf.writeVarInt(id);
+			buf.writeVarInt(tile.getPoints(id));
+			buf.writeVarInt(tile.getLevel(id));
+		}
+		ServerPlayNetworking.send(player, ID, buf);
+	}
+
+}
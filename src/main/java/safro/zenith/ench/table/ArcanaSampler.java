@@ -0,0 +1,141 @@
+package safro.zenith.ench.table;
+
+import net.minecraft.core.Registry;
+import net.minecraft.util.RandomSource;
+import net.minecraft.util.random.WeightedRandom;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.EnchantmentInstance;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Weighted sampler over enchantment candidates, weighted by the rarity weights of an {@link ZenithEnchantContainer.Arcana} tier.<br>
+ * Backed by a Fenwick tree in candidate order, so each draw and each removal is O(log n). Draws consume the random exactly like
+ * {@link WeightedRandom#getRandomItem} over the list of remaining candidates, so results are identical for the same seed.<br>
+ * Instances are pooled per thread, see {@link #get}.
+ */
+public class ArcanaSampler {
+
+    private static final ThreadLocal<ArcanaSampler> POOL = ThreadLocal.withInitial(ArcanaSampler::new);
+
+    private EnchantmentInstance[] items = new EnchantmentInstance[32];
+    private int[] weights = new int[32];
+    private long[] tree = new long[33];
+    private int[] indexById = new int[0];
+    private long[] live = new long[0];
+    private int size;
+    private int remaining;
+    private long total;
+    private boolean unindexed;
+
+    private ArcanaSampler() {
+    }
+
+    /**
+     * Resets this thread's sampler to hold the given candidates. The sampler is only valid until the next call on the same thread.
+     */
+    public static ArcanaSampler get(ZenithEnchantContainer.Arcana arcana, List<EnchantmentInstance> candidates) {
+        ArcanaSampler sampler = POOL.get();
+        sampler.reset(arcana, candidates);
+        return sampler;
+    }
+
+    private void reset(ZenithEnchantContainer.Arcana arcana, List<EnchantmentInstance> candidates) {
+        int n = candidates.size();
+        if (this.items.length < n) {
+            int cap = Math.max(n, this.items.length * 2);
+            this.items = new EnchantmentInstance[cap];
+            this.weights = new int[cap];
+            this.tree = new long[cap + 1];
+        }
+        Arrays.fill(this.items, n, this.items.length, null);
+        Arrays.fill(this.tree, 0, n + 1, 0);
+
+        EnchantmentCompatibility matrix = EnchantmentCompatibility.get();
+        int ids = matrix.getIdCount();
+        if (this.indexById.length < ids) this.indexById = new int[ids];
+        if (this.live.length < (ids + 63) >>> 6) this.live = new long[(ids + 63) >>> 6];
+        Arrays.fill(this.live, 0);
+
+        int[] rarities = arcana.getRarities();
+        this.size = this.remaining = n;
+        this.total = 0;
+        this.unindexed = false;
+        for (int i = 0; i < n; i++) {
+            EnchantmentInstance inst = candidates.get(i);
+            this.items[i] = inst;
+            this.weights[i] = rarities[inst.enchantment.getRarity().ordinal()];
+            this.total += this.weights[i];
+            this.tree[i + 1] += this.weights[i];
+            int parent = i + 1 + (i + 1 & -(i + 1));
+            if (parent <= n) this.tree[parent] += this.tree[i + 1];
+            int id = Registry.ENCHANTMENT.getId(inst.enchantment);
+            if (id < 0 || id >= ids) {
+                this.unindexed = true;
+                continue;
+            }
+            this.indexById[id] = i;
+            this.live[id >>> 6] |= 1L << id;
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.remaining == 0;
+    }
+
+    /**
+     * Draws a candidate, which stays available until removed.
+     * @throws NoSuchElementException if the remaining candidates have no weight, as the list based selection did.
+     */
+    public EnchantmentInstance next(RandomSource rand) {
+        if (this.total > Integer.MAX_VALUE) throw new IllegalArgumentException("Sum of weights must be <= 2147483647");
+        if (this.total == 0) throw new NoSuchElementException("No value present");
+        long target = rand.nextInt((int) this.total);
+        int pos = 0;
+        for (int step = Integer.highestOneBit(this.size); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= this.size && this.tree[next] <= target) {
+                pos = next;
+                target -= this.tree[next];
+            }
+        }
+        return this.items[pos];
+    }
+
+    /**
+     * Removes every remaining candidate that is incompatible with the given enchantment, including the enchantment itself.
+     */
+    public void removeIncompatible(Enchantment ench) {
+        EnchantmentCompatibility matrix = EnchantmentCompatibility.get();
+        long[] row = matrix.getIncompatible(ench);
+        if (row == null || this.unindexed || matrix.getIdCount() > this.indexById.length) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.items[i] != null && !matrix.isCompatible(ench, this.items[i].enchantment)) this.remove(i);
+            }
+            return;
+        }
+        for (int w = 0; w < Math.min(row.length, this.live.length); w++) {
+            long bits = row[w] & this.live[w];
+            while (bits != 0) {
+                this.remove(this.indexById[w << 6 | Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private void remove(int index) {
+        EnchantmentInstance inst = this.items[index];
+        if (inst == null) return;
+        this.items[index] = null;
+        int id = Registry.ENCHANTMENT.getId(inst.enchantment);
+        if (id >= 0 && id >>> 6 < this.live.length) this.live[id >>> 6] &= ~(1L << id);
+        int weight = this.weights[index];
+        this.total -= weight;
+        this.remaining--;
+        for (int i = index + 1; i <= this.size; i += i & -i) {
+            this.tree[i] -= weight;
+        }
+    }
+}
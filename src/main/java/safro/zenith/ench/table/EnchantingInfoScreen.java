@@ -2,10 +2,8 @@ package safro.zenith.ench.table;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.mojang.blaze3d.systems.RenderSystem;
@@ -48,7 +46,7 @@ public class EnchantingInfoScreen extends Screen {
     protected boolean scrolling;
     protected int startIndex;
     List<RealEnchantmentHelper.ArcanaEnchantmentData> enchantments = Collections.emptyList();
-    Map<Enchantment, List<Enchantment>> exclusions = new HashMap<>();
+    List<Enchantment> candidates = Collections.emptyList();
 
     public EnchantingInfoScreen(ZenithEnchantScreen parent) {
         super(Component.translatable("info.zenith.enchinfo_title"));
@@ -154,7 +152,7 @@ public class EnchantingInfoScreen extends Screen {
             if (I18n.exists(hover.data.enchantment.getDescriptionId() + ".desc")) {
                 list.add(Component.translatable(hover.data.enchantment.getDescriptionId() + ".desc").withStyle(ChatFormatting.DARK_AQUA));
             }
-            List<Enchantment> excls = this.exclusions.get(hover.data.enchantment);
+            List<Enchantment> excls = EnchantmentCompatibility.get().getExclusions(hover.data.enchantment, this.candidates);
             if (!excls.isEmpty()) {
                 StringBuilder sb = new StringBuilder();
                 for (int i = 0; i < excls.size(); i++) {
@@ -251,14 +249,7 @@ public class EnchantingInfoScreen extends Screen {
             this.startIndex = 0;
             this.scrollOffs = 0;
         }
-        this.exclusions.clear();
-        for (RealEnchantmentHelper.ArcanaEnchantmentData d : this.enchantments) {
-            List<Enchantment> excls = new ArrayList<>();
-            for (RealEnchantmentHelper.ArcanaEnchantmentData d2 : this.enchantments) {
-                if (d != d2 && !d.data.enchantment.isCompatibleWith(d2.data.enchantment)) excls.add(d2.data.enchantment);
-            }
-            this.exclusions.put(d.data.enchantment, excls);
-        }
+        this.candidates = this.enchantments.stream().map(d -> d.data.enchantment).collect(Collectors.toList());
     }
 
     @Override
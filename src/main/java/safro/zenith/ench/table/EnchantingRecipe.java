@@ -1,7 +1,5 @@
 package safro.zenith.ench.table;
 
-import java.util.ArrayList;
-
 import javax.annotation.Nullable;
 
 import com.google.gson.Gson;
@@ -145,15 +143,12 @@ public class EnchantingRecipe implements Recipe<Container> {
 
     @Nullable
     public static EnchantingRecipe findMatch(Level level, ItemStack input, float eterna, float quanta, float arcana) {
-        ArrayList<EnchantingRecipe> recipes = new ArrayList<>(level.getRecipeManager().getAllRecipesFor(EnchModule.INFUSION_RECIPE));
-        recipes.sort((r1, r2) -> -Float.compare(r1.requirements.eterna, r2.requirements.eterna));
-        for (EnchantingRecipe r : recipes)
-            if (r.matches(input, eterna, quanta, arcana)) return r;
-        return null;
+        return EnchantingRecipeIndex.get(level.getRecipeManager()).findMatch(input, eterna, quanta, arcana);
     }
 
+    @Nullable
     public static EnchantingRecipe findItemMatch(Level level, ItemStack toEnchant) {
-        return level.getRecipeManager().getAllRecipesFor(EnchModule.INFUSION_RECIPE).stream().filter(r -> r.getInput().test(toEnchant)).findFirst().orElse(null);
+        return EnchantingRecipeIndex.get(level.getRecipeManager()).findItemMatch(toEnchant);
     }
 
 }
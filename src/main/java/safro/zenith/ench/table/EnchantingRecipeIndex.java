@@ -0,0 +1,104 @@
+package safro.zenith.ench.table;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.RecipeManager;
+import safro.zenith.ench.EnchModule;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Lookup table for {@link EnchantingRecipe}s (including subclasses such as {@link KeepNBTEnchantingRecipe}), keyed by input item.<br>
+ * One index is built lazily per {@link RecipeManager}, and dropped when that manager's recipes are replaced.
+ */
+public class EnchantingRecipeIndex {
+
+    private static final Map<RecipeManager, EnchantingRecipeIndex> INDICES = new WeakHashMap<>();
+
+    /**
+     * Recipes for each input item, in recipe manager order.
+     */
+    private final Map<Item, EnchantingRecipe[]> byItem = new IdentityHashMap<>();
+    /**
+     * Recipes for each input item, sorted by descending eterna requirement.
+     */
+    private final Map<Item, EnchantingRecipe[]> byEterna = new IdentityHashMap<>();
+    /**
+     * Recipes whose ingredient does not list any items, which must be tested against every input.
+     */
+    private final EnchantingRecipe[] unindexed;
+    private final EnchantingRecipe[] unindexedByEterna;
+
+    private EnchantingRecipeIndex(List<EnchantingRecipe> recipes) {
+        Map<Item, List<EnchantingRecipe>> items = new IdentityHashMap<>();
+        List<EnchantingRecipe> unindexed = new ArrayList<>();
+        for (EnchantingRecipe r : recipes) {
+            ItemStack[] stacks = r.getInput().getItems();
+            if (stacks.length == 0) {
+                unindexed.add(r);
+                items.values().forEach(l -> l.add(r));
+                continue;
+            }
+            for (ItemStack s : stacks) {
+                List<EnchantingRecipe> list = items.computeIfAbsent(s.getItem(), k -> new ArrayList<>(unindexed));
+                if (list.isEmpty() || list.get(list.size() - 1) != r) list.add(r);
+            }
+        }
+        this.unindexed = unindexed.toArray(new EnchantingRecipe[0]);
+        this.unindexedByEterna = sortByEterna(this.unindexed);
+        items.forEach((item, list) -> {
+            EnchantingRecipe[] arr = list.toArray(new EnchantingRecipe[0]);
+            this.byItem.put(item, arr);
+            this.byEterna.put(item, sortByEterna(arr));
+        });
+    }
+
+    /**
+     * Returns the highest-eterna recipe that accepts the input at the given stats, matching {@link EnchantingRecipe#findMatch}.
+     */
+    @Nullable
+    public EnchantingRecipe findMatch(ItemStack input, float eterna, float quanta, float arcana) {
+        EnchantingRecipe[] recipes = this.byEterna.getOrDefault(input.getItem(), this.unindexedByEterna);
+        // Recipes requiring more eterna than is available can never match, so skip past them.
+        int lo = 0, hi = recipes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (recipes[mid].requirements.eterna > eterna) lo = mid + 1;
+            else hi = mid;
+        }
+        for (int i = lo; i < recipes.length; i++) {
+            if (recipes[i].matches(input, eterna, quanta, arcana)) return recipes[i];
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first recipe that accepts the input, ignoring stats, matching {@link EnchantingRecipe#findItemMatch}.
+     */
+    @Nullable
+    public EnchantingRecipe findItemMatch(ItemStack input) {
+        for (EnchantingRecipe r : this.byItem.getOrDefault(input.getItem(), this.unindexed)) {
+            if (r.getInput().test(input)) return r;
+        }
+        return null;
+    }
+
+    public static EnchantingRecipeIndex get(RecipeManager manager) {
+        synchronized (INDICES) {
+            return INDICES.computeIfAbsent(manager, m -> new EnchantingRecipeIndex(m.getAllRecipesFor(EnchModule.INFUSION_RECIPE)));
+        }
+    }
+
+    public static void invalidate(RecipeManager manager) {
+        synchronized (INDICES) {
+            INDICES.remove(manager);
+        }
+    }
+
+    private static EnchantingRecipe[] sortByEterna(EnchantingRecipe[] recipes) {
+        EnchantingRecipe[] sorted = recipes.clone();
+        Arrays.sort(sorted, (r1, r2) -> -Float.compare(r1.requirements.eterna, r2.requirements.eterna));
+        return sorted;
+    }
+}
@@ -0,0 +1,103 @@
+package safro.zenith.ench.table;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Caches the shelf stats gathered around enchanting tables, keyed by the table's position.<br>
+ * An entry is dropped whenever a block changes inside the ring scanned by {@link ZenithEnchantContainer#computeStats},
+ * and the whole cache is dropped when the enchanting stats reload.<br>
+ * Tables are also indexed by the chunk sections their ring overlaps, so a block change only checks the tables of its own section.
+ */
+public class EnchantingStatCache {
+
+    /**
+     * Upper bound on cached tables per level. The least recently used table is evicted past it.
+     */
+    private static final int MAX_ENTRIES = 256;
+
+    private static final Map<Level, Tables> CACHE = new WeakHashMap<>();
+
+    @Nullable
+    public static float[] get(Level level, BlockPos pos) {
+        Tables tables = CACHE.get(level);
+        return tables == null ? null : tables.stats.getAndMoveToLast(pos.asLong());
+    }
+
+    public static void put(Level level, BlockPos pos, float[] stats) {
+        Tables tables = CACHE.computeIfAbsent(level, l -> new Tables());
+        long table = pos.asLong();
+        if (tables.stats.putAndMoveToLast(table, stats) != null) return;
+        tables.index(table, true);
+        if (tables.stats.size() > MAX_ENTRIES) {
+            long eldest = tables.stats.firstLongKey();
+            tables.stats.removeFirst();
+            tables.index(eldest, false);
+        }
+    }
+
+    /**
+     * Drops every cached table that could see the changed position.
+     * Tables scan two blocks out horizontally, on their own layer and the layer above.
+     */
+    public static void onBlockChanged(Level level, BlockPos pos) {
+        Tables tables = CACHE.get(level);
+        if (tables == null) return;
+        LongArrayList inSection = tables.bySection.get(SectionPos.asLong(pos));
+        if (inSection == null) return;
+        for (int i = inSection.size() - 1; i >= 0; i--) {
+            long table = inSection.getLong(i);
+            int dy = pos.getY() - BlockPos.getY(table);
+            if (dy < 0 || dy > 1) continue;
+            if (Math.abs(pos.getX() - BlockPos.getX(table)) <= 2 && Math.abs(pos.getZ() - BlockPos.getZ(table)) <= 2) {
+                tables.stats.remove(table);
+                tables.index(table, false);
+            }
+        }
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static class Tables {
+
+        private final Long2ObjectLinkedOpenHashMap<float[]> stats = new Long2ObjectLinkedOpenHashMap<>();
+
+        /**
+         * The cached tables whose scanned ring overlaps each chunk section.
+         */
+        private final Long2ObjectMap<LongArrayList> bySection = new Long2ObjectOpenHashMap<>();
+
+        /**
+         * Adds or removes a table from every section its ring overlaps.
+         */
+        private void index(long table, boolean add) {
+            int x = BlockPos.getX(table), y = BlockPos.getY(table), z = BlockPos.getZ(table);
+            for (int sx = SectionPos.blockToSectionCoord(x - 2); sx <= SectionPos.blockToSectionCoord(x + 2); sx++) {
+                for (int sy = SectionPos.blockToSectionCoord(y); sy <= SectionPos.blockToSectionCoord(y + 1); sy++) {
+                    for (int sz = SectionPos.blockToSectionCoord(z - 2); sz <= SectionPos.blockToSectionCoord(z + 2); sz++) {
+                        long section = SectionPos.asLong(sx, sy, sz);
+                        if (add) {
+                            this.bySection.computeIfAbsent(section, k -> new LongArrayList(2)).add(table);
+                        } else {
+                            LongArrayList list = this.bySection.get(section);
+                            if (list == null) continue;
+                            list.rem(table);
+                            if (list.isEmpty()) this.bySection.remove(section);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -17,12 +17,19 @@ import safro.zenith.api.json.SerializerBuilder;
 import safro.zenith.ench.EnchModule;
 import safro.zenith.ench.objects.IEnchantingBlock;
 
+import javax.annotation.Nullable;
+
 import java.util.*;
 
 public class EnchantingStatManager extends ZenithJsonReloadListener<EnchantingStatManager.BlockStats> {
     public static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     public static final EnchantingStatManager INSTANCE = new EnchantingStatManager();
-    private final Map<Block, Stats> statsPerBlock = new HashMap<>();
+    private static final Stats DEFAULT_STATS = new Stats(15, 0, 0, 0, 0, 0);
+    private static final Stats BOOKSHELF_STATS = new Stats(15, 1, 0, 0, 0, 0);
+    /**
+     * Stats provided by stat files, indexed by the block's raw registry id.
+     */
+    private Stats[] statsPerBlock = new Stats[0];
 
     private float absoluteMaxEterna = 50;
 
@@ -60,16 +67,20 @@ public class EnchantingStatManager extends ZenithJsonReloadListener<EnchantingSt
     @Override
     protected void beginReload() {
         super.beginReload();
-        this.statsPerBlock.clear();
+        this.statsPerBlock = new Stats[0];
     }
 
     @Override
     protected void onReload() {
         super.onReload();
+        Stats[] statsPerBlock = new Stats[Registry.BLOCK.size()];
         for (BlockStats bStats : this.registry.values()) {
-            bStats.blocks.forEach(b -> this.statsPerBlock.put(b, bStats.stats));
+            bStats.blocks.forEach(b -> statsPerBlock[Registry.BLOCK.getId(b)] = bStats.stats);
         }
+        this.statsPerBlock = statsPerBlock;
         this.computeAbsoluteMaxEterna();
+        EnchantingStatCache.clear();
+        if (Zenith.enableEnch) EnchModule.bakePowerTables();
     }
 
     /**
@@ -78,8 +89,8 @@ public class EnchantingStatManager extends ZenithJsonReloadListener<EnchantingSt
      * 1F of Eterna = 2 Levels in the enchanting table.
      */
     public static float getEterna(BlockState state, Level world, BlockPos pos) {
-        Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).eterna;
+        Stats stats = getStatsFromFile(state.getBlock());
+        if (stats != null) return stats.eterna;
         return state.is(Blocks.BOOKSHELF) ? 1 : 0;
     }
 
@@ -90,7 +101,8 @@ public class EnchantingStatManager extends ZenithJsonReloadListener<EnchantingSt
      */
     public static float getMaxEterna(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).maxEterna;
+        Stats stats = getStatsFromFile(block);
+        if (stats != null) return stats.maxEterna;
         if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getMaxEnchantingPower(state, world, pos);
         return 15;
     }
@@ -102,7 +114,8 @@ public class EnchantingStatManager extends ZenithJsonReloadListener<EnchantingSt
      */
     public static float getQuanta(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).quanta;
+        Stats stats = getStatsFromFile(block);
+        if (stats != null) return stats.quanta;
         else if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getQuantaBonus(state, world, pos);
         return 0;
     }
@@ -114,7 +127,8 @@ public class EnchantingStatManager extends ZenithJsonReloadListener<EnchantingSt
      */
     public static float getArcana(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).arcana;
+        Stats stats = getStatsFromFile(block);
+        if (stats != null) return stats.arcana;
         else if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getArcanaBonus(state, world, pos);
         return 0;
     }
@@ -125,7 +139,8 @@ public class EnchantingStatManager extends ZenithJsonReloadListener<EnchantingSt
      */
     public static float getQuantaRectification(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).rectification;
+        Stats stats = getStatsFromFile(block);
+        if (stats != null) return stats.rectification;
         if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getQuantaRectification(state, world, pos);
         return 0;
     }
@@ -136,11 +151,34 @@ public class EnchantingStatManager extends ZenithJsonReloadListener<EnchantingSt
      */
     public static int getBonusClues(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).clues;
+        Stats stats = getStatsFromFile(block);
+        if (stats != null) return stats.clues;
         if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getBonusClues(state, world, pos);
         return 0;
     }
 
+    /**
+     * Retrieves every enchanting stat of a specific block at once.
+     * Stat files take priority, followed by {@link IEnchantingBlock}, and the vanilla defaults otherwise.
+     */
+    public static Stats getStats(BlockState state, Level world, BlockPos pos) {
+        Block block = state.getBlock();
+        Stats stats = getStatsFromFile(block);
+        if (stats != null) return stats;
+        float eterna = state.is(Blocks.BOOKSHELF) ? 1 : 0;
+        if (block instanceof IEnchantingBlock ench) {
+            return new Stats(ench.getMaxEnchantingPower(state, world, pos), eterna, ench.getQuantaBonus(state, world, pos), ench.getArcanaBonus(state, world, pos), ench.getQuantaRectification(state, world, pos), ench.getBonusClues(state, world, pos));
+        }
+        return eterna > 0 ? BOOKSHELF_STATS : DEFAULT_STATS;
+    }
+
+    @Nullable
+    private static Stats getStatsFromFile(Block block) {
+        Stats[] statsPerBlock = INSTANCE.statsPerBlock;
+        int id = Registry.BLOCK.getId(block);
+        return id >= 0 && id < statsPerBlock.length ? statsPerBlock[id] : null;
+    }
+
     /**
      * This returns the highest possible eterna value, based on the definitions for all stat providers.
      */
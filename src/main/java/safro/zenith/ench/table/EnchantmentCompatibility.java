@@ -0,0 +1,91 @@
+package safro.zenith.ench.table;
+
+import net.minecraft.core.Registry;
+import net.minecraft.world.item.enchantment.Enchantment;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed {@link Enchantment#isCompatibleWith} results for every pair of registered enchantments.<br>
+ * Each enchantment owns one bitset row, indexed by raw id, with a bit set for every enchantment it is incompatible with.
+ * An enchantment is always incompatible with itself.<br>
+ * Rebuilt by {@link safro.zenith.ench.EnchModule#bakePowerTables()}, and again whenever the registry has grown since the last build.
+ */
+public class EnchantmentCompatibility {
+
+    @Nullable
+    private static volatile EnchantmentCompatibility instance;
+
+    private final int size;
+    private final long[][] incompatible;
+
+    private EnchantmentCompatibility(int size, long[][] incompatible) {
+        this.size = size;
+        this.incompatible = incompatible;
+    }
+
+    public static EnchantmentCompatibility get() {
+        EnchantmentCompatibility matrix = instance;
+        if (matrix == null || matrix.size != Registry.ENCHANTMENT.size()) matrix = rebuild();
+        return matrix;
+    }
+
+    public static EnchantmentCompatibility rebuild() {
+        int size = 0;
+        for (Enchantment ench : Registry.ENCHANTMENT) {
+            size = Math.max(size, Registry.ENCHANTMENT.getId(ench) + 1);
+        }
+        int words = (size + 63) >>> 6;
+        long[][] rows = new long[size][];
+        for (Enchantment a : Registry.ENCHANTMENT) {
+            long[] row = new long[words];
+            for (Enchantment b : Registry.ENCHANTMENT) {
+                if (!a.isCompatibleWith(b)) {
+                    int id = Registry.ENCHANTMENT.getId(b);
+                    row[id >>> 6] |= 1L << id;
+                }
+            }
+            rows[Registry.ENCHANTMENT.getId(a)] = row;
+        }
+        EnchantmentCompatibility matrix = new EnchantmentCompatibility(Registry.ENCHANTMENT.size(), rows);
+        instance = matrix;
+        return matrix;
+    }
+
+    /**
+     * @return The number of raw ids covered by this matrix.
+     */
+    public int getIdCount() {
+        return this.incompatible.length;
+    }
+
+    /**
+     * @return The incompatibility row of the enchantment, or null if it was not registered when the matrix was built.
+     */
+    @Nullable
+    public long[] getIncompatible(Enchantment ench) {
+        int id = Registry.ENCHANTMENT.getId(ench);
+        return id < 0 || id >= this.incompatible.length ? null : this.incompatible[id];
+    }
+
+    public boolean isCompatible(Enchantment a, Enchantment b) {
+        long[] row = this.getIncompatible(a);
+        if (row == null) return a.isCompatibleWith(b);
+        int id = Registry.ENCHANTMENT.getId(b);
+        if (id < 0 || id >>> 6 >= row.length) return a.isCompatibleWith(b);
+        return (row[id >>> 6] & 1L << id) == 0;
+    }
+
+    /**
+     * @return Every enchantment among the candidates, other than the enchantment itself, that is incompatible with it, in candidate order.
+     */
+    public List<Enchantment> getExclusions(Enchantment ench, List<Enchantment> candidates) {
+        List<Enchantment> list = new ArrayList<>();
+        for (Enchantment other : candidates) {
+            if (other != ench && !this.isCompatible(ench, other)) list.add(other);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,149 @@
+package safro.zenith.ench.table;
+
+import net.minecraft.core.Registry;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.EnchantmentInstance;
+import org.jetbrains.annotations.Nullable;
+import safro.zenith.ench.EnchModule;
+import safro.zenith.ench.EnchantmentInfo;
+import safro.zenith.util.ZenithUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prebuilt lookup backing {@link RealEnchantmentHelper#getAvailableEnchantmentResults}, replacing the full registry scan.<br>
+ * Every discoverable enchantment stores the level it resolves to at each power up to {@link #maxPower}, and the enchantments
+ * applicable to stacks without NBT are cached per item.  Stacks with NBT still run the applicability checks per enchantment.<br>
+ * Rebuilt by {@link EnchModule#bakePowerTables()}, which runs on every enchantment info and enchanting stat reload.
+ */
+public class EnchantmentIndex {
+
+    private static final short NONE = -1;
+
+    @Nullable
+    private static volatile EnchantmentIndex instance;
+    /**
+     * Guards against {@link #rebuild()} re-entering itself through a late enchantment info load in {@link EnchModule#getEnchInfo}.
+     */
+    private static boolean rebuilding, rebuildRequested;
+
+    private final Entry[] entries;
+    private final int maxPower;
+    private final Map<Item, Entry[]> byItem = new ConcurrentHashMap<>();
+
+    private EnchantmentIndex(Entry[] entries, int maxPower) {
+        this.entries = entries;
+        this.maxPower = maxPower;
+    }
+
+    @Nullable
+    public static EnchantmentIndex get() {
+        return instance;
+    }
+
+    /**
+     * Rebuilds the index. A rebuild requested while one is running, which happens when it late loads enchantment info,
+     * is deferred until the running one finishes.
+     */
+    public static synchronized void rebuild() {
+        if (rebuilding) {
+            rebuildRequested = true;
+            return;
+        }
+        rebuilding = true;
+        try {
+            do {
+                rebuildRequested = false;
+                instance = build();
+            } while (rebuildRequested);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    private static EnchantmentIndex build() {
+        int maxPower = Math.max(256, Mth.ceil(EnchantingStatManager.getAbsoluteMaxEterna() * 4));
+        List<Entry> entries = new ArrayList<>();
+        for (Enchantment ench : Registry.ENCHANTMENT) {
+            EnchantmentInfo info = EnchModule.getEnchInfo(ench);
+            if (info.isDiscoverable()) entries.add(new Entry(ench, info, maxPower));
+        }
+        return new EnchantmentIndex(entries.toArray(new Entry[0]), maxPower);
+    }
+
+    /**
+     * @return The highest power with a precomputed level. Higher powers fall back to walking the levels.
+     */
+    int getMaxPower() {
+        return this.maxPower;
+    }
+
+    /**
+     * Indexed equivalent of {@link RealEnchantmentHelper#scanAvailableEnchantmentResults}.
+     */
+    public List<EnchantmentInstance> getAvailableResults(int power, ItemStack stack, boolean allowTreasure) {
+        List<EnchantmentInstance> list = new ArrayList<>();
+        IEnchantableItem enchi = (IEnchantableItem) stack.getItem();
+        allowTreasure = enchi.isTreasureAllowed(stack, allowTreasure);
+        boolean cached = !stack.hasTag();
+        Entry[] candidates = cached ? this.byItem.computeIfAbsent(stack.getItem(), item -> this.findApplicable(stack)) : this.entries;
+        for (Entry e : candidates) {
+            if (e.treasure && !allowTreasure) continue;
+            int level = e.getLevel(power);
+            if (level == NONE) continue;
+            if (cached || isApplicable(e.ench, stack, enchi)) list.add(new EnchantmentInstance(e.ench, level));
+        }
+        return list;
+    }
+
+    private Entry[] findApplicable(ItemStack stack) {
+        IEnchantableItem enchi = (IEnchantableItem) stack.getItem();
+        List<Entry> list = new ArrayList<>();
+        for (Entry e : this.entries) {
+            if (isApplicable(e.ench, stack, enchi)) list.add(e);
+        }
+        return list.toArray(new Entry[0]);
+    }
+
+    private static boolean isApplicable(Enchantment ench, ItemStack stack, IEnchantableItem enchi) {
+        return ZenithUtil.canApply(ench, stack) || enchi.forciblyAllowsTableEnchantment(stack, ench);
+    }
+
+    private static class Entry {
+        final Enchantment ench;
+        final EnchantmentInfo info;
+        final boolean treasure;
+        /**
+         * The highest level whose power window contains the index, or {@link #NONE}.
+         */
+        final short[] levelByPower;
+
+        Entry(Enchantment ench, EnchantmentInfo info, int maxPower) {
+            this.ench = ench;
+            this.info = info;
+            this.treasure = info.isTreasure();
+            this.levelByPower = new short[maxPower + 1];
+            for (int power = 0; power <= maxPower; power++) {
+                this.levelByPower[power] = (short) this.computeLevel(power);
+            }
+        }
+
+        int getLevel(int power) {
+            if (power >= 0 && power < this.levelByPower.length) return this.levelByPower[power];
+            return this.computeLevel(power);
+        }
+
+        int computeLevel(int power) {
+            for (int level = this.info.getMaxLevel(); level > this.ench.getMinLevel() - 1; --level) {
+                if (power >= this.info.getMinPower(level) && power <= this.info.getMaxPower(level)) return level;
+            }
+            return NONE;
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package safro.zenith.ench.table;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 
@@ -13,7 +11,6 @@ import net.minecraft.core.Registry;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
 import net.minecraft.util.random.WeightedEntry.IntrusiveBase;
-import net.minecraft.util.random.WeightedRandom;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
@@ -67,18 +64,18 @@ public class RealEnchantmentHelper {
             List<EnchantmentInstance> allEnchants = getAvailableEnchantmentResults(level, stack, treasure);
             Map<Enchantment, Integer> enchants = EnchantmentHelper.getEnchantments(stack);
             allEnchants.removeIf(e -> enchants.containsKey(e.enchantment)); //Remove duplicates.
-            List<ArcanaEnchantmentData> possibleEnchants = allEnchants.stream().map(d -> new ArcanaEnchantmentData(arcanaVals, d)).collect(Collectors.toList());
+            ArcanaSampler possibleEnchants = ArcanaSampler.get(arcanaVals, allEnchants);
             if (!possibleEnchants.isEmpty()) {
-                chosenEnchants.add(WeightedRandom.getRandomItem((RandomSource) rand, possibleEnchants).get().data);
-                removeIncompatible(possibleEnchants, Util.lastOf(chosenEnchants));
+                chosenEnchants.add(possibleEnchants.next(rand));
+                possibleEnchants.removeIncompatible(Util.lastOf(chosenEnchants).enchantment);
 
                 if (arcana >= 25F && !possibleEnchants.isEmpty()) {
-                    chosenEnchants.add(WeightedRandom.getRandomItem((RandomSource) rand, possibleEnchants).get().data);
-                    removeIncompatible(possibleEnchants, Util.lastOf(chosenEnchants));
+                    chosenEnchants.add(possibleEnchants.next(rand));
+                    possibleEnchants.removeIncompatible(Util.lastOf(chosenEnchants).enchantment);
                 }
 
                 if (arcana >= 75F && !possibleEnchants.isEmpty()) {
-                    chosenEnchants.add(WeightedRandom.getRandomItem((RandomSource) rand, possibleEnchants).get().data);
+                    chosenEnchants.add(possibleEnchants.next(rand));
                 }
 
                 int randomBound = 50;
@@ -87,13 +84,13 @@ public class RealEnchantmentHelper {
                 }
 
                 while (rand.nextInt(randomBound) <= level) {
-                    if (!chosenEnchants.isEmpty()) removeIncompatible(possibleEnchants, Util.lastOf(chosenEnchants));
+                    if (!chosenEnchants.isEmpty()) possibleEnchants.removeIncompatible(Util.lastOf(chosenEnchants).enchantment);
 
                     if (possibleEnchants.isEmpty()) {
                         break;
                     }
 
-                    chosenEnchants.add(WeightedRandom.getRandomItem((RandomSource) rand, possibleEnchants).get().data);
+                    chosenEnchants.add(possibleEnchants.next(rand));
                     level /= 2;
                 }
             }
@@ -101,20 +98,6 @@ public class RealEnchantmentHelper {
         return ((IEnchantableItem) stack.getItem()).selectEnchantments(chosenEnchants, rand, stack, srcLevel, quanta, arcana, treasure);
     }
 
-    /**
-     * Removes all enchantments from the list that are incompatible with the passed enchantment.
-     */
-    public static void removeIncompatible(List<ArcanaEnchantmentData> list, EnchantmentInstance data) {
-        Iterator<ArcanaEnchantmentData> iterator = list.iterator();
-
-        while (iterator.hasNext()) {
-            if (!data.enchantment.isCompatibleWith(iterator.next().data.enchantment)) {
-                iterator.remove();
-            }
-        }
-
-    }
-
     /**
      * @param power The current enchanting power.
      * @param stack The ItemStack being enchanted.
@@ -122,6 +105,16 @@ public class RealEnchantmentHelper {
      * @return All possible enchantments that are eligible to be placed on this item at a specific power level.
      */
     public static List<EnchantmentInstance> getAvailableEnchantmentResults(int power, ItemStack stack, boolean allowTreasure) {
+        EnchantmentIndex index = EnchantmentIndex.get();
+        if (index != null) return index.getAvailableResults(power, stack, allowTreasure);
+        return scanAvailableEnchantmentResults(power, stack, allowTreasure);
+    }
+
+    /**
+     * Unindexed version of {@link #getAvailableEnchantmentResults}, which checks every registered enchantment.
+     * Used before the {@link EnchantmentIndex} is built, and as the reference when validating it.
+     */
+    public static List<EnchantmentInstance> scanAvailableEnchantmentResults(int power, ItemStack stack, boolean allowTreasure) {
         List<EnchantmentInstance> list = new ArrayList<>();
         IEnchantableItem enchi = (IEnchantableItem) stack.getItem();
         allowTreasure = enchi.isTreasureAllowed(stack, allowTreasure);
@@ -1,9 +1,8 @@
 package safro.zenith.ench.table;
 
-import it.unimi.dsi.fastutil.floats.Float2FloatMap;
-import it.unimi.dsi.fastutil.floats.Float2FloatOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Registry;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -12,6 +11,7 @@ import net.minecraft.world.Container;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.*;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
@@ -23,6 +23,7 @@ import safro.zenith.advancements.AdvancementTriggers;
 import safro.zenith.ench.EnchModule;
 import safro.zenith.util.FloatReferenceHolder;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 public class ZenithEnchantContainer extends EnchantmentMenu {
@@ -32,6 +33,17 @@ public class ZenithEnchantContainer extends EnchantmentMenu {
     protected final FloatReferenceHolder rectification = new FloatReferenceHolder(0F, -100, 100);
     protected final DataSlot clues = DataSlot.standalone();
     protected final Player player;
+    /**
+     * Generated options for each slot, keyed on every input that feeds the enchanting rng.
+     */
+    protected final Map<OptionKey, SlotOptions> optionCache = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<OptionKey, SlotOptions> eldest) {
+            return this.size() > 12;
+        }
+    };
+    protected EnchantmentIndex optionIndex;
+    protected EnchantingRecipe recipeMatch;
 
     public ZenithEnchantContainer(int id, Inventory inv) {
         super(id, inv, ContainerLevelAccess.NULL);
@@ -162,6 +174,7 @@ public class ZenithEnchantContainer extends EnchantmentMenu {
                 ItemStack toEnchant = inventoryIn.getItem(0);
                 this.gatherStats();
                 EnchantingRecipe match = EnchantingRecipe.findItemMatch(world, toEnchant);
+                this.recipeMatch = match == null ? null : EnchantingRecipe.findMatch(world, toEnchant, this.eterna.get(), this.quanta.get(), this.arcana.get());
                 if (toEnchant.getCount() == 1 && (match != null || toEnchant.getItem().isEnchantable(toEnchant) && isEnchantableEnough(toEnchant))) {
                     float eterna = this.eterna.get();
                     if (eterna < 1.5) eterna = 1.5F; // Allow for enchanting with no bookshelves as vanilla does
@@ -180,19 +193,13 @@ public class ZenithEnchantContainer extends EnchantmentMenu {
 
                     for (int slot = 0; slot < 3; ++slot) {
                         if (this.costs[slot] > 0) {
-                            List<EnchantmentInstance> list = this.getEnchantmentList(toEnchant, slot, this.costs[slot]);
+                            SlotOptions options = this.getOptions(toEnchant, slot, this.costs[slot]);
 
-                            if (list != null && !list.isEmpty()) {
-                                EnchantmentInstance enchantmentdata = list.remove(this.random.nextInt(list.size()));
+                            if (options.clue() != null) {
+                                EnchantmentInstance enchantmentdata = options.clue();
                                 this.enchantClue[slot] = Registry.ENCHANTMENT.getId(enchantmentdata.enchantment);
                                 this.levelClue[slot] = enchantmentdata.level;
-                                int clues = 1 + this.clues.get();
-                                List<EnchantmentInstance> clueList = new ArrayList<>();
-                                if (clues-- > 0) clueList.add(enchantmentdata);
-                                while (clues-- > 0 && !list.isEmpty()) {
-                                    clueList.add(list.remove(this.random.nextInt(list.size())));
-                                }
-                                ClueMessage.sendTo(this.player, slot, clueList, list.isEmpty());
+                                ClueMessage.sendTo(this.player, slot, options.clues(), options.allClues());
                             }
                         }
                     }
@@ -214,41 +221,51 @@ public class ZenithEnchantContainer extends EnchantmentMenu {
     }
 
     private List<EnchantmentInstance> getEnchantmentList(ItemStack stack, int enchantSlot, int level) {
+        return new ArrayList<>(this.getOptions(stack, enchantSlot, level).enchantments());
+    }
+
+    /**
+     * Generates the enchantments and clues for a slot, or reuses them if every input to the rng is unchanged.
+     * The rng is reseeded per slot, so reused results are identical to freshly generated ones.
+     */
+    private SlotOptions getOptions(ItemStack stack, int enchantSlot, int level) {
+        EnchantmentIndex index = EnchantmentIndex.get();
+        if (this.optionIndex != index) {
+            this.optionCache.clear();
+            this.optionIndex = index;
+        }
+        OptionKey key = new OptionKey(this.enchantmentSeed.get(), stack.getItem(), stack.getTag(), this.eterna.get(), this.quanta.get(), this.arcana.get(), this.rectification.get(), this.clues.get(), enchantSlot, level);
+        SlotOptions options = this.optionCache.get(key);
+        if (options != null) return options;
+
         this.random.setSeed(this.enchantmentSeed.get() + enchantSlot);
         List<EnchantmentInstance> list = RealEnchantmentHelper.selectEnchantment(this.random, stack, level, this.quanta.get(), this.arcana.get(), this.rectification.get(), false);
-        EnchantingRecipe match = this.access.evaluate((world, pos) ->
-                Optional.ofNullable(EnchantingRecipe.findMatch(world, stack, this.eterna.get(), this.quanta.get(), this.arcana.get()))
-        ).get().orElse(null);
-        if (enchantSlot == 2 && match != null) {
+        if (enchantSlot == 2 && this.recipeMatch != null) {
             list.clear();
             list.add(new EnchantmentInstance(EnchModule.INFUSION, 1));
         }
-        return list;
+        List<EnchantmentInstance> enchantments = List.copyOf(list);
+        EnchantmentInstance enchantmentdata = null;
+        List<EnchantmentInstance> clueList = new ArrayList<>();
+        if (!list.isEmpty()) {
+            enchantmentdata = list.remove(this.random.nextInt(list.size()));
+            int clues = 1 + this.clues.get();
+            if (clues-- > 0) clueList.add(enchantmentdata);
+            while (clues-- > 0 && !list.isEmpty()) {
+                clueList.add(list.remove(this.random.nextInt(list.size())));
+            }
+        }
+        options = new SlotOptions(enchantments, enchantmentdata, List.copyOf(clueList), list.isEmpty());
+        this.optionCache.put(key.copy(), options);
+        return options;
     }
 
     public void gatherStats() {
         this.access.evaluate((world, pos) -> {
-            Float2FloatMap eternaMap = new Float2FloatOpenHashMap();
-            float[] stats = { 0, 15F, 0, 0, 0 };
-            for (int j = -1; j <= 1; ++j) {
-                for (int k = -1; k <= 1; ++k) {
-                    if ((j != 0 || k != 0) && world.isEmptyBlock(pos.offset(k, 0, j)) && world.isEmptyBlock(pos.offset(k, 1, j))) {
-                        gatherStats(eternaMap, stats, world, pos.offset(k * 2, 0, j * 2));
-                        gatherStats(eternaMap, stats, world, pos.offset(k * 2, 1, j * 2));
-                        if (k != 0 && j != 0) {
-                            gatherStats(eternaMap, stats, world, pos.offset(k * 2, 0, j));
-                            gatherStats(eternaMap, stats, world, pos.offset(k * 2, 1, j));
-                            gatherStats(eternaMap, stats, world, pos.offset(k, 0, j * 2));
-                            gatherStats(eternaMap, stats, world, pos.offset(k, 1, j * 2));
-                        }
-                    }
-                }
-            }
-            List<Float2FloatMap.Entry> entries = new ArrayList<>(eternaMap.float2FloatEntrySet());
-            Collections.sort(entries, Comparator.comparing(Float2FloatMap.Entry::getFloatKey));
-            for (Float2FloatMap.Entry e : entries) {
-                if (e.getFloatKey() > 0) stats[0] = Math.min(e.getFloatKey(), stats[0] + e.getFloatValue());
-                else stats[0] += e.getFloatValue();
+            float[] stats = world.isClientSide ? null : EnchantingStatCache.get(world, pos);
+            if (stats == null) {
+                stats = computeStats(world, pos);
+                if (!world.isClientSide) EnchantingStatCache.put(world, pos, stats);
             }
             this.eterna.set(stats[0]);
             this.quanta.set(stats[1]);
@@ -259,20 +276,72 @@ public class ZenithEnchantContainer extends EnchantmentMenu {
         }).orElse(this);
     }
 
-    public static void gatherStats(Float2FloatMap eternaMap, float[] stats, Level world, BlockPos pos) {
+    /**
+     * Key for {@link #optionCache}. The tag is held by reference for lookups, and copied when the key is stored.
+     */
+    protected static record OptionKey(int seed, Item item, @Nullable CompoundTag tag, float eterna, float quanta, float arcana, float rectification, int clues, int slot, int level) {
+
+        public OptionKey copy() {
+            return new OptionKey(this.seed, this.item, this.tag == null ? null : this.tag.copy(), this.eterna, this.quanta, this.arcana, this.rectification, this.clues, this.slot, this.level);
+        }
+    }
+
+    protected static record SlotOptions(List<EnchantmentInstance> enchantments, @Nullable EnchantmentInstance clue, List<EnchantmentInstance> clues, boolean allClues) {
+    }
+
+    /**
+     * Scans the shelves around a table and returns its stats as { eterna, quanta, arcana, rectification, clues }.
+     * Arcana does not include the enchantability of the item being enchanted.
+     */
+    public static float[] computeStats(Level world, BlockPos pos) {
+        float[] stats = { 0, 15F, 0, 0, 0 };
+        // Eterna contributions, grouped by max eterna and kept sorted by it.  At most 32 blocks are scanned.
+        float[] maxEterna = new float[32];
+        float[] eterna = new float[32];
+        int size = 0;
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        for (int j = -1; j <= 1; ++j) {
+            for (int k = -1; k <= 1; ++k) {
+                if ((j != 0 || k != 0) && world.isEmptyBlock(cursor.setWithOffset(pos, k, 0, j)) && world.isEmptyBlock(cursor.setWithOffset(pos, k, 1, j))) {
+                    size = gatherStats(maxEterna, eterna, size, stats, world, cursor.setWithOffset(pos, k * 2, 0, j * 2));
+                    size = gatherStats(maxEterna, eterna, size, stats, world, cursor.setWithOffset(pos, k * 2, 1, j * 2));
+                    if (k != 0 && j != 0) {
+                        size = gatherStats(maxEterna, eterna, size, stats, world, cursor.setWithOffset(pos, k * 2, 0, j));
+                        size = gatherStats(maxEterna, eterna, size, stats, world, cursor.setWithOffset(pos, k * 2, 1, j));
+                        size = gatherStats(maxEterna, eterna, size, stats, world, cursor.setWithOffset(pos, k, 0, j * 2));
+                        size = gatherStats(maxEterna, eterna, size, stats, world, cursor.setWithOffset(pos, k, 1, j * 2));
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (maxEterna[i] > 0) stats[0] = Math.min(maxEterna[i], stats[0] + eterna[i]);
+            else stats[0] += eterna[i];
+        }
+        return stats;
+    }
+
+    private static int gatherStats(float[] maxEterna, float[] eterna, int size, float[] stats, Level world, BlockPos pos) {
         BlockState state = world.getBlockState(pos);
-        if (state.isAir()) return;
-        float max = EnchantingStatManager.getMaxEterna(state, world, pos);
-        float eterna = EnchantingStatManager.getEterna(state, world, pos);
-        eternaMap.put(max, eternaMap.getOrDefault(max, 0) + eterna);
-        float quanta = EnchantingStatManager.getQuanta(state, world, pos);
-        stats[1] += quanta;
-        float arcana = EnchantingStatManager.getArcana(state, world, pos);
-        stats[2] += arcana;
-        float quantaRec = EnchantingStatManager.getQuantaRectification(state, world, pos);
-        stats[3] += quantaRec;
-        int clues = EnchantingStatManager.getBonusClues(state, world, pos);
-        stats[4] += clues;
+        if (state.isAir()) return size;
+        EnchantingStatManager.Stats blockStats = EnchantingStatManager.getStats(state, world, pos);
+        float max = blockStats.maxEterna;
+        int idx = 0;
+        while (idx < size && maxEterna[idx] < max) idx++;
+        if (idx < size && maxEterna[idx] == max) {
+            eterna[idx] += blockStats.eterna;
+        } else {
+            System.arraycopy(maxEterna, idx, maxEterna, idx + 1, size - idx);
+            System.arraycopy(eterna, idx, eterna, idx + 1, size - idx);
+            maxEterna[idx] = max;
+            eterna[idx] = blockStats.eterna;
+            size++;
+        }
+        stats[1] += blockStats.quanta;
+        stats[2] += blockStats.arcana;
+        stats[3] += blockStats.rectification;
+        stats[4] += blockStats.clues;
+        return size;
     }
 
     @Override
@@ -0,0 +1,177 @@
+package safro.zenith.garden;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks the vertical runs of cactus, sugar cane and bamboo, so growth checks do not have to walk the whole stack.<br>
+ * A column is measured the first time it is queried, then kept up to date from block changes, and forgotten when its chunk unloads.
+ */
+public class ColumnHeightIndex {
+
+    private static final Map<ServerLevel, Long2ObjectMap<ChunkColumns>> INDEX = new WeakHashMap<>();
+
+    public static boolean isTracked(Block block) {
+        return block == Blocks.CACTUS || block == Blocks.SUGAR_CANE || block == Blocks.BAMBOO;
+    }
+
+    /**
+     * @return The number of blocks of the given type directly below the given position, up to max.
+     */
+    public static int getHeightBelow(BlockGetter level, BlockPos pos, Block block, int max) {
+        Run run = getRun(level, pos, block);
+        if (run != null) return Math.min(pos.getY() - run.bottom, max);
+        int i;
+        for (i = 0; i < max && level.getBlockState(pos.below(i + 1)).getBlock() == block; ++i)
+            ;
+        return i;
+    }
+
+    /**
+     * @return The number of blocks of the given type directly above the given position, up to max.
+     */
+    public static int getHeightAbove(BlockGetter level, BlockPos pos, Block block, int max) {
+        Run run = getRun(level, pos, block);
+        if (run != null) return Math.min(run.top - pos.getY(), max);
+        int i;
+        for (i = 0; i < max && level.getBlockState(pos.above(i + 1)).getBlock() == block; ++i)
+            ;
+        return i;
+    }
+
+    /**
+     * Keeps the runs of the changed column in step with the world. Placing or removing a block at either end of a run adjusts it,
+     * anything else drops the column so it is measured again on the next query.
+     */
+    public static void onBlockChanged(ServerLevel level, BlockPos pos, BlockState oldState, BlockState newState) {
+        Block oldBlock = oldState.getBlock(), newBlock = newState.getBlock();
+        if (oldBlock == newBlock || !isTracked(oldBlock) && !isTracked(newBlock)) return;
+        Long2ObjectMap<ChunkColumns> chunks = INDEX.get(level);
+        if (chunks == null) return;
+        ChunkColumns columns = chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (columns == null) return;
+        int col = ChunkColumns.index(pos);
+        List<Run> runs = columns.runs[col];
+        if (runs == null) return;
+
+        int y = pos.getY();
+        if (isTracked(oldBlock) && !shrink(runs, oldBlock, y)) {
+            columns.runs[col] = null;
+            return;
+        }
+        if (isTracked(newBlock) && !grow(level, pos, runs, newBlock)) {
+            columns.runs[col] = null;
+        }
+    }
+
+    public static void onChunkUnload(ServerLevel level, ChunkPos pos) {
+        Long2ObjectMap<ChunkColumns> chunks = INDEX.get(level);
+        if (chunks != null) chunks.remove(pos.toLong());
+    }
+
+    public static void clear() {
+        INDEX.clear();
+    }
+
+    /**
+     * Finds the run of the given block containing the given position, measuring the column if it is not known yet.
+     * @return The run, or null if the level is not indexed or the position does not hold the block.
+     */
+    @Nullable
+    private static Run getRun(BlockGetter getter, BlockPos pos, Block block) {
+        if (!(getter instanceof ServerLevel level)) return null;
+        ChunkColumns columns = INDEX.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>()).computeIfAbsent(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4), k -> new ChunkColumns());
+        int col = ChunkColumns.index(pos);
+        List<Run> runs = columns.runs[col];
+        int y = pos.getY();
+        if (runs != null) {
+            for (Run run : runs) {
+                if (run.block == block && run.bottom <= y && y <= run.top) return run;
+            }
+        }
+        if (level.getBlockState(pos).getBlock() != block) return null;
+
+        BlockPos.MutableBlockPos mPos = pos.mutable();
+        int bottom = y, top = y;
+        while (bottom > level.getMinBuildHeight() && level.getBlockState(mPos.setY(bottom - 1)).getBlock() == block) bottom--;
+        while (top < level.getMaxBuildHeight() - 1 && level.getBlockState(mPos.setY(top + 1)).getBlock() == block) top++;
+        Run run = new Run(block, bottom, top);
+        if (runs == null) runs = columns.runs[col] = new ArrayList<>(1);
+        runs.add(run);
+        return run;
+    }
+
+    /**
+     * Removes the position from the run holding it.
+     * @return False if the run had to be split, which is left to a fresh measurement.
+     */
+    private static boolean shrink(List<Run> runs, Block block, int y) {
+        for (int i = 0; i < runs.size(); i++) {
+            Run run = runs.get(i);
+            if (run.block != block || y < run.bottom || y > run.top) continue;
+            if (run.bottom == run.top) runs.remove(i);
+            else if (y == run.top) run.top--;
+            else if (y == run.bottom) run.bottom++;
+            else return false;
+            return true;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the position to the run ending right below or starting right above it.
+     * @return False if the position would join two runs, which is left to a fresh measurement.
+     */
+    private static boolean grow(ServerLevel level, BlockPos pos, List<Run> runs, Block block) {
+        int y = pos.getY();
+        Run below = null, above = null;
+        for (Run run : runs) {
+            if (run.block != block) continue;
+            if (run.top == y - 1) below = run;
+            else if (run.bottom == y + 1) above = run;
+        }
+        if (below == null && above == null) return true; // A new run, measured when first queried.
+        if (below != null && above != null) return false;
+        // The other side may hold a run of the same block that was never measured.
+        if (level.getBlockState(below != null ? pos.above() : pos.below()).getBlock() == block) return false;
+        if (below != null) below.top = y;
+        else above.bottom = y;
+        return true;
+    }
+
+    private static class ChunkColumns {
+
+        @SuppressWarnings("unchecked")
+        final List<Run>[] runs = new List[256];
+
+        static int index(BlockPos pos) {
+            return (pos.getX() & 15) | (pos.getZ() & 15) << 4;
+        }
+    }
+
+    private static class Run {
+
+        final Block block;
+        int bottom;
+        int top;
+
+        Run(Block block, int bottom, int top) {
+            this.block = block;
+            this.bottom = bottom;
+            this.top = top;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package safro.zenith.garden;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
@@ -22,6 +23,7 @@ public class GardenModule {
 
         ComposterBlock.COMPOSTABLES.put(Blocks.CACTUS.asItem(), 0.5F);
         ComposterBlock.COMPOSTABLES.put(Blocks.SUGAR_CANE.asItem(), 0.5F);
+        ServerChunkEvents.CHUNK_UNLOAD.register((level, chunk) -> ColumnHeightIndex.onChunkUnload(level, chunk.getPos()));
     }
 
     public static void reload(boolean e) {
@@ -0,0 +1,24 @@
+package safro.zenith.mixin;
+
+import net.minecraft.world.item.ItemStack;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import safro.zenith.adventure.affix.AffixHelper;
+import safro.zenith.util.IAffixCacheHolder;
+
+@Mixin(ItemStack.class)
+public class ItemStackMixin implements IAffixCacheHolder {
+
+    @Unique
+    private AffixHelper.CachedAffixes cachedAffixes;
+
+    @Override
+    public AffixHelper.CachedAffixes getCachedAffixes() {
+        return cachedAffixes;
+    }
+
+    @Override
+    public void setCachedAffixes(AffixHelper.CachedAffixes affixes) {
+        this.cachedAffixes = affixes;
+    }
+}
@@ -8,6 +8,7 @@ import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.Attribute;
 import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
@@ -15,6 +16,7 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.*;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -24,17 +26,20 @@ import safro.zenith.adventure.AdventureModule;
 import safro.zenith.adventure.affix.Affix;
 import safro.zenith.adventure.affix.AffixHelper;
 import safro.zenith.adventure.affix.AffixInstance;
+import safro.zenith.adventure.affix.EquippedAffixes;
 import safro.zenith.ench.enchantments.ReflectiveEnchant;
 import safro.zenith.ench.enchantments.corrupted.LifeMendingEnchant;
 import safro.zenith.potion.PotionModule;
 import safro.zenith.potion.potions.GrievousEffect;
 import safro.zenith.potion.potions.VitalityEffect;
+import safro.zenith.spawn.spawner.MobStacker;
+import safro.zenith.util.IEquippedAffixHolder;
 
 import javax.annotation.Nullable;
 import java.util.Map;
 
 @Mixin(LivingEntity.class)
-public abstract class LivingEntityMixin {
+public abstract class LivingEntityMixin implements IEquippedAffixHolder {
 
     @Shadow public abstract Iterable<ItemStack> getArmorSlots();
 
@@ -42,6 +47,8 @@ public abstract class LivingEntityMixin {
 
     @Shadow protected int useItemRemaining;
 
+    @Shadow protected boolean dead;
+
     @Shadow public abstract void setHealth(float f);
 
     @Shadow public abstract float getHealth();
@@ -51,6 +58,41 @@ public abstract class LivingEntityMixin {
 
     @Shadow
     public abstract MobEffectInstance getEffect(MobEffect ef);
+
+    @Unique
+    private EquippedAffixes equippedAffixes;
+    @Unique
+    private boolean equipmentDirty = true;
+
+    @Override
+    public EquippedAffixes getEquippedAffixes() {
+        return equippedAffixes;
+    }
+
+    @Override
+    public boolean isEquipmentDirty() {
+        return equipmentDirty;
+    }
+
+    @Override
+    public void setEquippedAffixes(EquippedAffixes affixes) {
+        this.equippedAffixes = affixes;
+        this.equipmentDirty = false;
+    }
+
+    /**
+     * Only invoked by {@link LivingEntity#detectEquipmentUpdates()} when at least one slot changed.
+     */
+    @Inject(method = "handleHandSwap", at = @At("HEAD"))
+    private void zenithEquipmentChanged(Map<EquipmentSlot, ItemStack> map, CallbackInfo ci) {
+        this.equipmentDirty = true;
+    }
+
+    @Inject(method = "die", at = @At("HEAD"))
+    private void zenithSplitStack(DamageSource source, CallbackInfo ci) {
+        LivingEntity entity = (LivingEntity) (Object) this;
+        if (Zenith.enableSpawner && !entity.isRemoved() && !this.dead) MobStacker.onDeath(entity);
+    }
 /*
     @Inject(method = "updatingUsingItem", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/LivingEntity;updateUsingItem(Lnet/minecraft/world/item/ItemStack;)V", shift = At.Shift.BEFORE))
     private void zenithUseTickEvent(CallbackInfo ci) {
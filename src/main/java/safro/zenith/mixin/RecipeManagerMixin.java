@@ -0,0 +1,31 @@
+package safro.zenith.mixin;
+
+import java.util.Map;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import com.google.gson.JsonElement;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import safro.zenith.ench.table.EnchantingRecipeIndex;
+
+@Mixin(RecipeManager.class)
+public class RecipeManagerMixin {
+
+    @Inject(method = "apply(Ljava/util/Map;Lnet/minecraft/server/packs/resources/ResourceManager;Lnet/minecraft/util/profiling/ProfilerFiller;)V", at = @At(value = "TAIL"))
+    private void zenithApply(Map<ResourceLocation, JsonElement> pObject, ResourceManager pResourceManager, ProfilerFiller pProfiler, CallbackInfo ci) {
+        EnchantingRecipeIndex.invalidate((RecipeManager) (Object) this);
+    }
+
+    @Inject(method = "replaceRecipes", at = @At(value = "TAIL"))
+    private void zenithReplaceRecipes(Iterable<Recipe<?>> recipes, CallbackInfo ci) {
+        EnchantingRecipeIndex.invalidate((RecipeManager) (Object) this);
+    }
+}
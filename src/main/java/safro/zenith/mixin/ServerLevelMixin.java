@@ -0,0 +1,22 @@
+package safro.zenith.mixin;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import safro.zenith.Zenith;
+import safro.zenith.ench.table.EnchantingStatCache;
+import safro.zenith.garden.ColumnHeightIndex;
+
+@Mixin(ServerLevel.class)
+public class ServerLevelMixin {
+
+    @Inject(method = "onBlockStateChange", at = @At("HEAD"))
+    private void zenithBlockStateChange(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo ci) {
+        if (Zenith.enableEnch) EnchantingStatCache.onBlockChanged((ServerLevel) (Object) this, pos);
+        if (Zenith.enableGarden) ColumnHeightIndex.onBlockChanged((ServerLevel) (Object) this, pos, oldState, newState);
+    }
+}
@@ -0,0 +1,19 @@
+package safro.zenith.mixin;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import safro.zenith.spawn.spawner.SpawnerScheduler;
+
+@Mixin(ServerPlayer.class)
+public class ServerPlayerMixin {
+
+    @Inject(method = "setLastSectionPos", at = @At("HEAD"))
+    private void zenithSectionChanged(SectionPos section, CallbackInfo ci) {
+        ServerPlayer player = (ServerPlayer) (Object) this;
+        SpawnerScheduler.onPlayerSectionChanged(player.getLevel(), section);
+    }
+}
@@ -19,6 +19,7 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import safro.zenith.Zenith;
+import safro.zenith.garden.ColumnHeightIndex;
 import safro.zenith.garden.GardenModule;
 
 import java.util.Random;
@@ -88,11 +89,14 @@ public abstract class BambooBlockMixin {
     @Inject(method = "getHeightAboveUpToMax", at = @At("HEAD"), cancellable = true)
     private void zenithGetHeightAbove(BlockGetter worldIn, BlockPos pos, CallbackInfoReturnable<Integer> cir) {
         if (Zenith.enableGarden) {
-            int i;
-            for (i = 0; i < GardenModule.maxBambooHeight && worldIn.getBlockState(pos.above(i + 1)).getBlock() == Blocks.BAMBOO; ++i) {
-                ;
-            }
-            cir.setReturnValue(i);
+            cir.setReturnValue(ColumnHeightIndex.getHeightAbove(worldIn, pos, Blocks.BAMBOO, GardenModule.maxBambooHeight));
+        }
+    }
+
+    @Inject(method = "getHeightBelowUpToMax", at = @At("HEAD"), cancellable = true)
+    private void zenithGetHeightBelow(BlockGetter worldIn, BlockPos pos, CallbackInfoReturnable<Integer> cir) {
+        if (Zenith.enableGarden) {
+            cir.setReturnValue(ColumnHeightIndex.getHeightBelow(worldIn, pos, Blocks.BAMBOO, GardenModule.maxBambooHeight));
         }
     }
 
@@ -13,6 +13,7 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import safro.zenith.Zenith;
+import safro.zenith.garden.ColumnHeightIndex;
 import safro.zenith.garden.GardenModule;
 
 import java.util.Random;
@@ -30,8 +31,7 @@ public class CactusBlockMixin {
             if (!world.isOutsideBuildHeight(blockpos) && world.isEmptyBlock(blockpos)) {
                 int i = 1;
 
-                if (GardenModule.maxCactusHeight <= 32) for (; world.getBlockState(pos.below(i)).getBlock() == cactus; ++i)
-                    ;
+                if (GardenModule.maxCactusHeight <= 32) i += ColumnHeightIndex.getHeightBelow(world, pos, cactus, Integer.MAX_VALUE);
 
                 if (i < GardenModule.maxCactusHeight) {
                     int j = state.getValue(AGE);
@@ -13,6 +13,7 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import safro.zenith.Zenith;
+import safro.zenith.garden.ColumnHeightIndex;
 import safro.zenith.garden.GardenModule;
 
 import java.util.Random;
@@ -28,8 +29,7 @@ public class SugarCaneBlockMixin {
         if (Zenith.enableGarden) {
             if (worldIn.isEmptyBlock(pos.above())) {
                 int i = 0;
-                if (GardenModule.maxReedHeight <= 32) for (i = 1; worldIn.getBlockState(pos.below(i)).getBlock() == s; ++i)
-                    ;
+                if (GardenModule.maxReedHeight <= 32) i = 1 + ColumnHeightIndex.getHeightBelow(worldIn, pos, s, Integer.MAX_VALUE);
 
                 if (i < GardenModule.maxReedHeight) {
                     int j = state.getValue(AGE);
@@ -3,7 +3,6 @@ package safro.zenith.mixin.spawner;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.random.SimpleWeightedRandomList;
 import net.minecraft.world.Difficulty;
@@ -22,9 +21,14 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import safro.zenith.spawn.spawner.LyingLevel;
+import safro.zenith.spawn.spawner.MobStacker;
+import safro.zenith.spawn.spawner.NoAiMobTracker;
+import safro.zenith.spawn.spawner.SpawnLightCache;
+import safro.zenith.spawn.spawner.SpawnerScheduler;
+import safro.zenith.spawn.spawner.SpawnTemplate;
 import safro.zenith.util.IBaseSpawner;
 
-import java.util.Optional;
+import javax.annotation.Nullable;
 
 @Mixin(SpawnerBlockEntity.class)
 public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner {
@@ -47,6 +51,20 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
     public boolean hasNoAI = false;
     @Unique
     public boolean silent = false;
+    @Unique
+    public boolean stackMobs = false;
+    /**
+     * The game time before which the spawner does nothing, either because it is asleep or counting down.
+     */
+    @Unique
+    private long wakeTime;
+    /**
+     * If {@link #wakeTime} marks the end of a countdown segment that started at {@link #countStart}, rather than a sleep.
+     */
+    @Unique
+    private boolean countingDown;
+    @Unique
+    private long countStart;
 
 
     @Override
@@ -54,6 +72,11 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
         return spawner;
     }
 
+    @Override
+    public void wakeSpawner() {
+        if (!this.countingDown) this.wakeTime = 0;
+    }
+
     @Override
     public boolean getIgnoresPlayers() {
         return ignoresPlayers;
@@ -84,6 +107,11 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
         return silent;
     }
 
+    @Override
+    public boolean getStackMobs() {
+        return stackMobs;
+    }
+
     @Override
     public void setIgnoresPlayers(boolean bool) {
         ignoresPlayers = bool;
@@ -114,6 +142,11 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
         silent = bool;
     }
 
+    @Override
+    public void setStackMobs(boolean bool) {
+        stackMobs = bool;
+    }
+
     @Inject(method = "saveAdditional", at = @At("HEAD"))
     private void saveAdditional(CompoundTag tag, CallbackInfo ci) {
         tag.putBoolean("ignore_players", this.ignoresPlayers);
@@ -122,6 +155,7 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
         tag.putBoolean("ignore_light", this.ignoresLight);
         tag.putBoolean("no_ai", this.hasNoAI);
         tag.putBoolean("silent", this.silent);
+        tag.putBoolean("stack_mobs", this.stackMobs);
     }
 
     @Inject(method = "load", at = @At("HEAD"))
@@ -132,15 +166,22 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
         this.ignoresLight = tag.getBoolean("ignore_light");
         this.hasNoAI = tag.getBoolean("no_ai");
         this.silent = tag.getBoolean("silent");
+        this.stackMobs = tag.getBoolean("stack_mobs");
     }
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void zenithOverrideSpawnerLogic(BlockPos blockPos, BlockState blockState, CallbackInfo ci) {
         this.spawner = new BaseSpawner() {
 
+        private SpawnTemplate template;
+        private LyingLevel liar;
+        private AABB nearbyBounds;
+        private int nearbyRange;
+
         @Override
         public void setEntityId(EntityType<?> pType) {
             super.setEntityId(pType);
+            this.template = null; // The entity tag is modified in place, so the template cannot be reused.
             this.spawnPotentials = SimpleWeightedRandomList.single(this.nextSpawnData);
             if (SpawnerBlockEntityMixin.this.level != null)
                 this.delay(SpawnerBlockEntityMixin.this.level, SpawnerBlockEntityMixin.this.worldPosition);
@@ -167,6 +208,8 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
         }
 
         private void delay(Level pLevel, BlockPos pPos) {
+            SpawnerBlockEntityMixin.this.countingDown = false;
+            SpawnerBlockEntityMixin.this.wakeTime = 0;
             if (this.maxSpawnDelay <= this.minSpawnDelay) {
                 this.spawnDelay = this.minSpawnDelay;
             } else {
@@ -201,48 +244,59 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
 
         @Override
         public void serverTick(ServerLevel pServerLevel, BlockPos pPos) {
-            if (this.isActivated(pServerLevel, pPos)) {
+            long time = pServerLevel.getGameTime();
+            if (time < SpawnerBlockEntityMixin.this.wakeTime) return;
+            if (SpawnerBlockEntityMixin.this.countingDown) {
+                SpawnerBlockEntityMixin.this.countingDown = false;
+                this.syncDelay(time);
+            }
+
+            if (!this.isActivated(pServerLevel, pPos)) {
+                // The delay stays frozen while asleep, as vanilla only counts down while activated.
+                SpawnerBlockEntityMixin.this.wakeTime = time + SpawnerScheduler.MAX_SLEEP;
+                SpawnerScheduler.sleep(pServerLevel, pPos, this.requiredPlayerRange);
+            } else {
                 if (this.spawnDelay == -1) {
                     this.delay(pServerLevel, pPos);
                 }
 
                 if (this.spawnDelay > 0) {
-                    --this.spawnDelay;
+                    // Skip ticking for a segment of the delay, instead of counting it down every tick.
+                    // Segments are capped so activation is checked again at least every MAX_SLEEP ticks.
+                    SpawnerBlockEntityMixin.this.countingDown = true;
+                    SpawnerBlockEntityMixin.this.countStart = time;
+                    SpawnerBlockEntityMixin.this.wakeTime = time + Math.min(this.spawnDelay, SpawnerScheduler.MAX_SLEEP);
                 } else {
                     boolean flag = false;
 
                     for (int i = 0; i < this.spawnCount; ++i) {
                         CompoundTag tag = this.nextSpawnData.getEntityToSpawn();
-                        Optional<EntityType<?>> optional = EntityType.by(tag);
-                        if (optional.isEmpty()) {
+                        SpawnTemplate template = this.getTemplate();
+                        EntityType<?> type = template.type;
+                        if (type == null) {
                             this.delay(pServerLevel, pPos);
                             return;
                         }
 
-                        ListTag listtag = tag.getList("Pos", 6);
-                        int j = listtag.size();
-                        double d0 = j >= 1 ? listtag.getDouble(0) : pPos.getX() + (pServerLevel.random.nextDouble() - pServerLevel.random.nextDouble()) * this.spawnRange + 0.5D;
-                        double d1 = j >= 2 ? listtag.getDouble(1) : (double) (pPos.getY() + pServerLevel.random.nextInt(3) - 1);
-                        double d2 = j >= 3 ? listtag.getDouble(2) : pPos.getZ() + (pServerLevel.random.nextDouble() - pServerLevel.random.nextDouble()) * this.spawnRange + 0.5D;
-                        if (pServerLevel.noCollision(optional.get().getAABB(d0, d1, d2))) {
+                        int j = template.fixedCoords;
+                        double d0 = j >= 1 ? template.x : pPos.getX() + (pServerLevel.random.nextDouble() - pServerLevel.random.nextDouble()) * this.spawnRange + 0.5D;
+                        double d1 = j >= 2 ? template.y : (double) (pPos.getY() + pServerLevel.random.nextInt(3) - 1);
+                        double d2 = j >= 3 ? template.z : pPos.getZ() + (pServerLevel.random.nextDouble() - pServerLevel.random.nextDouble()) * this.spawnRange + 0.5D;
+                        if (pServerLevel.noCollision(type.getAABB(d0, d1, d2))) {
                             BlockPos blockpos = new BlockPos(d0, d1, d2);
 
                             //LOGIC CHANGE : Ability to ignore conditions set in the spawner and by the entity.
-                            LyingLevel liar = new LyingLevel(pServerLevel);
-                            boolean useLiar = false;
                             if (!SpawnerBlockEntityMixin.this.ignoresConditions) {
                                 if (SpawnerBlockEntityMixin.this.ignoresLight) {
-                                    boolean pass = false;
-                                    for (int light = 0; light < 16; light++) {
-                                        liar.setFakeLightLevel(light);
-                                        if (checkSpawnRules(optional, liar, blockpos)) {
-                                            pass = true;
-                                            break;
-                                        }
-                                    }
-                                    if (!pass) continue;
-                                    else useLiar = true;
-                                } else if (!checkSpawnRules(optional, pServerLevel, blockpos)) continue;
+                                    if (!this.checkSpawnRulesAnyLight(type, this.getLiar(pServerLevel), blockpos)) continue;
+                                } else if (!checkSpawnRules(type, pServerLevel, blockpos)) continue;
+                            }
+
+                            // Check the nearby entity cap before loading the entity when its class is already known.  Stacks count as each of their units.
+                            AABB nearby = this.getNearbyBounds(pPos);
+                            if (template.entityClass != null && MobStacker.countUnits(pServerLevel.getEntitiesOfClass(template.entityClass, nearby)) >= this.maxNearbyEntities) {
+                                this.delay(pServerLevel, pPos);
+                                return;
                             }
 
                             Entity entity = EntityType.loadEntityRecursive(tag, pServerLevel, p_151310_ -> {
@@ -256,14 +310,17 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
 
                             if (SpawnerBlockEntityMixin.this.hasNoAI && entity instanceof Mob mob) {
                                 mob.setNoAi(true);
-                                entity.addTag("zenith:movable");
+                                entity.addTag(NoAiMobTracker.MOVABLE);
                             }
                             if (SpawnerBlockEntityMixin.this.silent) entity.setSilent(true);
 
-                            int k = pServerLevel.getEntitiesOfClass(entity.getClass(), new AABB(pPos.getX(), pPos.getY(), pPos.getZ(), pPos.getX() + 1, pPos.getY() + 1, pPos.getZ() + 1).inflate(this.spawnRange)).size();
-                            if (k >= this.maxNearbyEntities) {
-                                this.delay(pServerLevel, pPos);
-                                return;
+                            if (template.entityClass == null) {
+                                template.entityClass = entity.getClass();
+                                int k = MobStacker.countUnits(pServerLevel.getEntitiesOfClass(template.entityClass, nearby));
+                                if (k >= this.maxNearbyEntities) {
+                                    this.delay(pServerLevel, pPos);
+                                    return;
+                                }
                             }
 
                             entity.moveTo(entity.getX(), entity.getY(), entity.getZ(), pServerLevel.random.nextFloat() * 360.0F, 0.0F);
@@ -278,6 +335,12 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
                                 }
                             }
 
+                            if (SpawnerBlockEntityMixin.this.hasNoAI && SpawnerBlockEntityMixin.this.stackMobs && MobStacker.tryStack(pServerLevel, entity, nearby, this.maxNearbyEntities)) {
+                                pServerLevel.levelEvent(2004, pPos, 0);
+                                flag = true;
+                                continue;
+                            }
+
                             if (!pServerLevel.tryAddFreshEntityWithPassengers(entity)) {
                                 this.delay(pServerLevel, pPos);
                                 return;
@@ -300,12 +363,80 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
             }
         }
 
+        /**
+         * Takes the ticks elapsed in the current countdown segment off {@link #spawnDelay}, and starts a new segment from the given time.
+         */
+        private void syncDelay(long time) {
+            this.spawnDelay = (int) Math.max(0, this.spawnDelay - (time - SpawnerBlockEntityMixin.this.countStart));
+            SpawnerBlockEntityMixin.this.countStart = time;
+        }
+
+        @Override
+        public CompoundTag save(CompoundTag tag) {
+            Level level = SpawnerBlockEntityMixin.this.level;
+            if (SpawnerBlockEntityMixin.this.countingDown && level != null) this.syncDelay(level.getGameTime());
+            return super.save(tag);
+        }
+
+        @Override
+        public void load(@Nullable Level level, BlockPos pos, CompoundTag tag) {
+            super.load(level, pos, tag);
+            SpawnerBlockEntityMixin.this.countingDown = false;
+            SpawnerBlockEntityMixin.this.wakeTime = 0;
+        }
+
+        private SpawnTemplate getTemplate() {
+            if (this.template == null || this.template.data != this.nextSpawnData) this.template = new SpawnTemplate(this.nextSpawnData);
+            return this.template;
+        }
+
+        private LyingLevel getLiar(ServerLevel level) {
+            if (this.liar == null || this.liar.getLevel() != level) this.liar = new LyingLevel(level);
+            return this.liar;
+        }
+
+        /**
+         * The area in which nearby entities count towards {@link #maxNearbyEntities}.
+         */
+        private AABB getNearbyBounds(BlockPos pos) {
+            if (this.nearbyBounds == null || this.nearbyRange != this.spawnRange) {
+                this.nearbyRange = this.spawnRange;
+                this.nearbyBounds = new AABB(pos.getX(), pos.getY(), pos.getZ(), pos.getX() + 1, pos.getY() + 1, pos.getZ() + 1).inflate(this.spawnRange);
+            }
+            return this.nearbyBounds;
+        }
+
+        /**
+         * Checks if the requested entity passes spawn rule checks at any light level.
+         * The level that passed last time for this entity and floor is tried first, and the remaining levels
+         * are only tried if the rules actually read the light level.
+         */
+        private boolean checkSpawnRulesAnyLight(EntityType<?> type, LyingLevel liar, BlockPos blockpos) {
+            BlockState below = liar.getBlockState(blockpos.below());
+            int first = Math.max(0, SpawnLightCache.getPassingLight(type, below));
+            liar.setFakeLightLevel(first);
+            if (checkSpawnRules(type, liar, blockpos)) {
+                SpawnLightCache.setPassingLight(type, below, first);
+                return true;
+            }
+            if (!liar.wasLightQueried()) return false;
+            for (int light = 0; light < 16; light++) {
+                if (light == first) continue;
+                liar.setFakeLightLevel(light);
+                if (checkSpawnRules(type, liar, blockpos)) {
+                    SpawnLightCache.setPassingLight(type, below, light);
+                    return true;
+                }
+            }
+            return false;
+        }
+
         /**
          * Checks if the requested entity passes spawn rule checks or not.
          */
-        private boolean checkSpawnRules(Optional<EntityType<?>> optional, ServerLevelAccessor pServerLevel, BlockPos blockpos) {
+        private boolean checkSpawnRules(EntityType<?> type, ServerLevelAccessor pServerLevel, BlockPos blockpos) {
             if (this.nextSpawnData.getCustomSpawnRules().isPresent()) {
-                if (!optional.get().getCategory().isFriendly() && pServerLevel.getDifficulty() == Difficulty.PEACEFUL) {
+                if (!type.getCategory().isFriendly() && pServerLevel.getDifficulty() == Difficulty.PEACEFUL) {
                     return false;
                 }
 
@@ -314,7 +445,7 @@ public class SpawnerBlockEntityMixin extends BlockEntity implements IBaseSpawner
                 if (!spawndata$customspawnrules.blockLightLimit().isValueInRange(pServerLevel.getBrightness(LightLayer.BLOCK, blockpos)) || !spawndata$customspawnrules.skyLightLimit().isValueInRange(pServerLevel.getBrightness(LightLayer.SKY, blockpos))) {
                     return false;
                 }
-            } else if (!SpawnPlacements.checkSpawnRules(optional.get(), pServerLevel, MobSpawnType.SPAWNER, blockpos, pServerLevel.getRandom())) {
+            } else if (!SpawnPlacements.checkSpawnRules(type, pServerLevel, MobSpawnType.SPAWNER, blockpos, pServerLevel.getRandom())) {
                 return false;
             }
             return true;
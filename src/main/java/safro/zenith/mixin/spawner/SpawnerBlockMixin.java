@@ -8,6 +8,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -17,6 +18,7 @@ import net.minecraft.world.item.TooltipFlag;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BaseEntityBlock;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.SpawnerBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.SpawnerBlockEntity;
@@ -30,6 +32,7 @@ import safro.zenith.Zenith;
 import safro.zenith.advancements.AdvancementTriggers;
 import safro.zenith.spawn.modifiers.SpawnerModifier;
 import safro.zenith.spawn.modifiers.SpawnerStats;
+import safro.zenith.spawn.spawner.SpawnerScheduler;
 import safro.zenith.util.IBaseSpawner;
 
 import java.util.List;
@@ -53,6 +56,12 @@ public abstract class SpawnerBlockMixin extends BaseEntityBlock {
         }
     }
 
+    @Override
+    public void neighborChanged(BlockState state, Level level, BlockPos pos, Block block, BlockPos fromPos, boolean isMoving) {
+        super.neighborChanged(state, level, pos, block, fromPos, isMoving);
+        if (level instanceof ServerLevel serverLevel) SpawnerScheduler.wake(serverLevel, pos);
+    }
+
     @Override
     public InteractionResult use(BlockState state, Level world, BlockPos pos, Player player, InteractionHand hand, BlockHitResult hit) {
         if (Zenith.enableSpawner) {
@@ -68,6 +77,7 @@ public abstract class SpawnerBlockMixin extends BaseEntityBlock {
                         if (match.consumesOffhand()) otherStack.shrink(1);
                     }
                     AdvancementTriggers.SPAWNER_MODIFIER.trigger((ServerPlayer) player, tile, match);
+                    SpawnerScheduler.wake((ServerLevel) world, pos);
                     world.sendBlockUpdated(pos, state, state, 3);
                     return InteractionResult.SUCCESS;
                 }
@@ -107,6 +117,8 @@ public abstract class SpawnerBlockMixin extends BaseEntityBlock {
                         tooltip.add(SpawnerStats.NO_AI.name().withStyle(ChatFormatting.DARK_GREEN));
                     if (tag.getBoolean("silent"))
                         tooltip.add(SpawnerStats.SILENT.name().withStyle(ChatFormatting.DARK_GREEN));
+                    if (tag.getBoolean("stack_mobs"))
+                        tooltip.add(SpawnerStats.STACK_MOBS.name().withStyle(ChatFormatting.DARK_GREEN));
                 } else {
                     tooltip.add(Component.translatable("misc.zenith.shift_stats").withStyle(ChatFormatting.GRAY));
                 }
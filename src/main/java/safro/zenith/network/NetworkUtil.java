@@ -5,6 +5,7 @@ import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import safro.zenith.ench.library.LibrarySyncMessage;
 import safro.zenith.ench.table.ClueMessage;
 
 import java.util.concurrent.Callable;
@@ -21,6 +22,7 @@ public class NetworkUtil {
         ReloadListenerPacket.Content.init();
         ReloadListenerPacket.End.init();
         ClueMessage.init();
+        LibrarySyncMessage.init();
     }
 
     public static void dispatchTEToNearbyPlayers(BlockEntity tile) {
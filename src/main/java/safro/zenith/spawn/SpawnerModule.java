@@ -3,6 +3,10 @@ package safro.zenith.spawn;
 import io.github.fabricators_of_create.porting_lib.event.common.LivingEntityEvents;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
 import net.minecraft.ChatFormatting;
 import net.minecraft.ResourceLocationException;
@@ -12,8 +16,6 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.EntityType;
-import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.Mob;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.SpawnEggItem;
 import net.minecraft.world.item.crafting.Recipe;
@@ -22,13 +24,15 @@ import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.SpawnerBlockEntity;
-import net.minecraft.world.phys.Vec3;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import safro.zenith.Zenith;
 import safro.zenith.api.config.Configuration;
 import safro.zenith.spawn.enchantment.CapturingEnchant;
 import safro.zenith.spawn.modifiers.SpawnerModifier;
+import safro.zenith.spawn.spawner.MobStacker;
+import safro.zenith.spawn.spawner.NoAiMobTracker;
+import safro.zenith.spawn.spawner.SpawnerScheduler;
 import safro.zenith.util.ZenithUtil;
 
 import java.io.File;
@@ -40,6 +44,7 @@ public class SpawnerModule {
     public static final Logger LOGGER = LogManager.getLogger("Zenith : Spawner");
     public static int spawnerSilkLevel = 1;
     public static int spawnerSilkDamage = 100;
+    public static int maxStackSize = 64;
     public static boolean invertBannedMobs;
     public static Set<ResourceLocation> bannedMobs = new HashSet<>();
 
@@ -57,7 +62,15 @@ public class SpawnerModule {
             return false;
         }));
 
-        LivingEntityEvents.TICK.register(SpawnerModule::tickDumbMobs);
+        ServerEntityEvents.ENTITY_LOAD.register(NoAiMobTracker::onEntityLoad);
+        ServerEntityEvents.ENTITY_UNLOAD.register(NoAiMobTracker::onEntityUnload);
+        ServerEntityEvents.ENTITY_UNLOAD.register(MobStacker::onRemoved);
+        ServerTickEvents.END_WORLD_TICK.register(NoAiMobTracker::tick);
+        ServerChunkEvents.CHUNK_UNLOAD.register((level, chunk) -> SpawnerScheduler.onChunkUnload(level, chunk.getPos()));
+        ServerWorldEvents.UNLOAD.register((server, level) -> {
+            SpawnerScheduler.onLevelUnload(level);
+            NoAiMobTracker.onLevelUnload(level);
+        });
 
         UseBlockCallback.EVENT.register(((player, world, hand, hitResult) -> handleUseItem(world, hitResult.getBlockPos(), player.getItemInHand(hand))));
     }
@@ -90,21 +103,12 @@ public class SpawnerModule {
         }
     }
 
-    public static void tickDumbMobs(LivingEntity entity) {
-        if (entity instanceof Mob mob) {
-            if (!mob.level.isClientSide && mob.isNoAi() && entity.getTags().contains("zenith:movable")) {
-                mob.setNoAi(false);
-                mob.travel(new Vec3(mob.xxa, mob.zza, mob.yya));
-                mob.setNoAi(true);
-            }
-        }
-    }
-
     public static void reload(boolean e) {
         Configuration config = new Configuration(new File(Zenith.configDir, "spawner.cfg"));
         config.setTitle("Zenith Spawner Module Configuration");
         spawnerSilkLevel = config.getInt("Spawner Silk Level", "general", 1, -1, 127, "The level of silk touch needed to harvest a spawner.  Set to -1 to disable, 0 to always drop.  The enchantment module can increase the max level of silk touch.");
         spawnerSilkDamage = config.getInt("Spawner Silk Damage", "general", 100, 0, 100000, "The durability damage dealt to an item that silk touches a spawner.");
+        maxStackSize = config.getInt("Max Stack Size", "general", 64, 2, 4096, "The most no-AI mobs a spawner with the Stacks Mobs stat may merge into a single entity.");
         invertBannedMobs = config.getBoolean("Enable Whitelist", "spawn_eggs", false, "Turns the blacklist into a whitelist.");
         bannedMobs.clear();
         String[] bans = config.getStringList("Banned Mobs", "spawn_eggs", new String[0], "A list of entity registry names that cannot be applied to spawners via egg.");
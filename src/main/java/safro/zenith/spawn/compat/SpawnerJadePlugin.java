@@ -45,7 +45,7 @@ public class SpawnerJadePlugin implements IWailaPlugin, IBlockComponentProvider,
         if (!Zenith.enableSpawner) return;
         if (Screen.hasControlDown()) {
             int[] stats = accessor.getServerData().getIntArray(STATS);
-            if (stats.length != 12) return;
+            if (stats.length != 13) return;
             tooltip.add(SpawnerModule.concat(SpawnerStats.MIN_DELAY.name(), stats[0]));
             tooltip.add(SpawnerModule.concat(SpawnerStats.MAX_DELAY.name(), stats[1]));
             tooltip.add(SpawnerModule.concat(SpawnerStats.SPAWN_COUNT.name(), stats[2]));
@@ -58,6 +58,7 @@ public class SpawnerJadePlugin implements IWailaPlugin, IBlockComponentProvider,
             if (stats[9] == 1) tooltip.add(SpawnerStats.IGNORE_LIGHT.name().withStyle(ChatFormatting.DARK_GREEN));
             if (stats[10] == 1) tooltip.add(SpawnerStats.NO_AI.name().withStyle(ChatFormatting.DARK_GREEN));
             if (stats[11] == 1) tooltip.add(SpawnerStats.SILENT.name().withStyle(ChatFormatting.DARK_GREEN));
+            if (stats[12] == 1) tooltip.add(SpawnerStats.STACK_MOBS.name().withStyle(ChatFormatting.DARK_GREEN));
         } else tooltip.add(Component.translatable("misc.zenith.ctrl_stats"));
     }
 
@@ -80,7 +81,8 @@ public class SpawnerJadePlugin implements IWailaPlugin, IBlockComponentProvider,
                             (((IBaseSpawner) spw).getRedstoneControl()) ? 1 : 0,
                             (((IBaseSpawner) spw).getIgnoreLight()) ? 1 : 0,
                             (((IBaseSpawner) spw).getNoAi()) ? 1 : 0,
-                            (((IBaseSpawner) spw).getSilent()) ? 1 : 0
+                            (((IBaseSpawner) spw).getSilent()) ? 1 : 0,
+                            (((IBaseSpawner) spw).getStackMobs()) ? 1 : 0
                     });
             //Formatter::on
         }
@@ -28,7 +28,7 @@ public class SpawnerWTHITPlugin implements IWailaPlugin, IBlockComponentProvider
         if (!Zenith.enableSpawner) return;
         if (Screen.hasControlDown()) {
             int[] stats = accessor.getServerData().getIntArray(STATS);
-            if (stats.length != 12) return;
+            if (stats.length != 13) return;
             tooltip.addLine(concat(SpawnerStats.MIN_DELAY.name(), stats[0]));
             tooltip.addLine(concat(SpawnerStats.MAX_DELAY.name(), stats[1]));
             tooltip.addLine(concat(SpawnerStats.SPAWN_COUNT.name(), stats[2]));
@@ -41,6 +41,7 @@ public class SpawnerWTHITPlugin implements IWailaPlugin, IBlockComponentProvider
             if (stats[9] == 1) tooltip.addLine(SpawnerStats.IGNORE_LIGHT.name().withStyle(ChatFormatting.DARK_GREEN));
             if (stats[10] == 1) tooltip.addLine(SpawnerStats.NO_AI.name().withStyle(ChatFormatting.DARK_GREEN));
             if (stats[11] == 1) tooltip.addLine(SpawnerStats.SILENT.name().withStyle(ChatFormatting.DARK_GREEN));
+            if (stats[12] == 1) tooltip.addLine(SpawnerStats.STACK_MOBS.name().withStyle(ChatFormatting.DARK_GREEN));
         } else tooltip.addLine(Component.translatable("misc.zenith.ctrl_stats"));
     }
 
@@ -63,7 +64,8 @@ public class SpawnerWTHITPlugin implements IWailaPlugin, IBlockComponentProvider
                             (((IBaseSpawner) spw).getRedstoneControl()) ? 1 : 0,
                             (((IBaseSpawner) spw).getIgnoreLight()) ? 1 : 0,
                             (((IBaseSpawner) spw).getNoAi()) ? 1 : 0,
-                            (((IBaseSpawner) spw).getSilent()) ? 1 : 0
+                            (((IBaseSpawner) spw).getSilent()) ? 1 : 0,
+                            (((IBaseSpawner) spw).getStackMobs()) ? 1 : 0
                     });
             //Formatter::on
         }
@@ -38,6 +38,8 @@ public class SpawnerStats {
 
 	public static final SpawnerStat<Boolean> SILENT = register(new BoolStat("silent", IBaseSpawner::getSilent, IBaseSpawner::setSilent));
 
+	public static final SpawnerStat<Boolean> STACK_MOBS = register(new BoolStat("stack_mobs", IBaseSpawner::getStackMobs, IBaseSpawner::setStackMobs));
+
 	private static <T extends SpawnerStat<?>> T register(T t) {
 		REGISTRY.put(t.getId(), t);
 		return t;
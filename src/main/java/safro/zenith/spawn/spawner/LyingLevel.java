@@ -44,13 +44,25 @@ public class LyingLevel implements ServerLevelAccessor {
 
     protected final Level wrapped;
     protected int fakeLightLevel;
+    protected boolean lightQueried;
 
     public LyingLevel(Level wrapped) {
         this.wrapped = wrapped;
     }
 
+    /**
+     * Sets the light level reported for every position, and resets {@link #wasLightQueried()}.
+     */
     public void setFakeLightLevel(int light) {
         this.fakeLightLevel = light;
+        this.lightQueried = false;
+    }
+
+    /**
+     * @return If any light level was read since the last call to {@link #setFakeLightLevel(int)}.
+     */
+    public boolean wasLightQueried() {
+        return this.lightQueried;
     }
 
     @Override
@@ -235,11 +247,13 @@ public class LyingLevel implements ServerLevelAccessor {
 
     @Override
     public int getBrightness(LightLayer pLightType, BlockPos pBlockPos) {
+        this.lightQueried = true;
         return this.fakeLightLevel;
     }
 
     @Override
     public int getRawBrightness(BlockPos pBlockPos, int pAmount) {
+        this.lightQueried = true;
         return this.fakeLightLevel;
     }
 
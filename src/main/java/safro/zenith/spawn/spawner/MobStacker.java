@@ -0,0 +1,104 @@
+package safro.zenith.spawn.spawner;
+
+import java.util.List;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.phys.AABB;
+import safro.zenith.spawn.SpawnerModule;
+
+/**
+ * Merges the no-AI mobs of spawners with the stack_mobs stat into a single entity that carries a stack count.<br>
+ * When a stacked mob dies or is discarded, a copy holding the rest of the stack takes its place, so drops, capturing and experience
+ * are still handled once per unit by the normal death of each entity. Spawners count stacks by their size against their nearby entity cap.
+ */
+public class MobStacker {
+
+    /**
+     * The key of the stack count, in the extra custom data of stacked mobs.
+     */
+    public static final String COUNT = "zenith.stack_count";
+
+    public static int getCount(Entity entity) {
+        return Math.max(1, entity.getExtraCustomData().getInt(COUNT));
+    }
+
+    public static void setCount(Entity entity, int count) {
+        if (count <= 1) entity.getExtraCustomData().remove(COUNT);
+        else entity.getExtraCustomData().putInt(COUNT, count);
+    }
+
+    /**
+     * @return The number of units in the given entities, counting each stack by its size.
+     */
+    public static int countUnits(List<? extends Entity> entities) {
+        int units = 0;
+        for (Entity e : entities) {
+            units += getCount(e);
+        }
+        return units;
+    }
+
+    /**
+     * Attempts to merge a freshly spawned no-AI mob into a stack of the same type within the given bounds.
+     * @param maxUnits The most units of the mob's class that may be within the bounds, including the new one.
+     * @return If the mob was merged, in which case it must not be added to the level.
+     */
+    public static boolean tryStack(ServerLevel level, Entity entity, AABB bounds, int maxUnits) {
+        if (!(entity instanceof Mob mob) || entity.isVehicle()) return false;
+        int max = SpawnerModule.maxStackSize;
+        List<? extends Mob> nearby = level.getEntitiesOfClass(mob.getClass(), bounds);
+        if (countUnits(nearby) >= maxUnits) return false;
+        for (Mob target : nearby) {
+            if (target.getType() == mob.getType() && target.isAlive() && target.isNoAi() && target.getTags().contains(NoAiMobTracker.MOVABLE) && !target.isPassenger() && !target.isVehicle() && getCount(target) < max) {
+                setCount(target, getCount(target) + 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called when a living entity is about to die. If it is a stack, the rest of the stack is split off into a fresh copy.
+     */
+    public static void onDeath(LivingEntity entity) {
+        if (entity.level.isClientSide) return;
+        splitRemaining(entity);
+    }
+
+    /**
+     * Called when an entity is removed from a server level. A stack that is discarded (ex. despawned) without dying
+     * only loses the unit it represents, and the rest of the stack is split off so each unit is removed on its own.
+     */
+    public static void onRemoved(Entity entity, ServerLevel level) {
+        Entity.RemovalReason reason = entity.getRemovalReason();
+        if (reason == Entity.RemovalReason.DISCARDED || reason == Entity.RemovalReason.KILLED) splitRemaining(entity);
+    }
+
+    private static void splitRemaining(Entity entity) {
+        int count = getCount(entity);
+        if (count <= 1 || !(entity instanceof LivingEntity)) return;
+        setCount(entity, 1);
+        CompoundTag tag = entity.saveWithoutId(new CompoundTag());
+        Entity copy = entity.getType().create(entity.level);
+        if (!(copy instanceof LivingEntity living)) return;
+        living.load(tag);
+        // The rest of the stack starts clean, or gear and effects picked up by one unit would be copied to every unit.
+        for (EquipmentSlot slot : EquipmentSlot.values()) {
+            living.setItemSlot(slot, ItemStack.EMPTY);
+        }
+        living.removeAllEffects();
+        living.setUUID(Mth.createInsecureUUID(entity.level.random));
+        living.setHealth(living.getMaxHealth());
+        living.clearFire();
+        living.setDeltaMovement(entity.getDeltaMovement());
+        setCount(living, count - 1);
+        entity.level.addFreshEntity(living);
+    }
+}
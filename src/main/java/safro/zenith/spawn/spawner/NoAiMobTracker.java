@@ -0,0 +1,86 @@
+package safro.zenith.spawn.spawner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Tracks the no-AI mobs created by spawners, which still need to be moved so they can fall and be pushed around.<br>
+ * Mobs are picked up as they are added to a level, whether freshly spawned or loaded from disk,
+ * and are all moved in one pass at the end of each level tick. They are dropped again when they unload, and with their level.
+ * Only accessed from the server thread.
+ */
+public class NoAiMobTracker {
+
+    /**
+     * The tag given to no-AI spawner mobs that should still be moved.
+     */
+    public static final String MOVABLE = "zenith:movable";
+
+    private static final Map<ServerLevel, Set<Mob>> MOBS = new WeakHashMap<>();
+    private static final List<Mob> PENDING = new ArrayList<>();
+    private static boolean ticking = false;
+
+    public static void onEntityLoad(Entity entity, ServerLevel level) {
+        if (entity instanceof Mob mob && mob.isNoAi() && mob.getTags().contains(MOVABLE)) {
+            if (ticking) PENDING.add(mob);
+            else MOBS.computeIfAbsent(level, l -> new ReferenceOpenHashSet<>()).add(mob);
+        }
+    }
+
+    public static void onEntityUnload(Entity entity, ServerLevel level) {
+        if (!(entity instanceof Mob mob)) return;
+        PENDING.remove(mob);
+        Set<Mob> mobs = MOBS.get(level);
+        // Mobs unloaded by the tick pass itself are already removed, and are pruned by it.
+        if (mobs != null && !ticking) mobs.remove(mob);
+    }
+
+    public static void onLevelUnload(ServerLevel level) {
+        MOBS.remove(level);
+        PENDING.removeIf(mob -> mob.level == level);
+    }
+
+    /**
+     * Moves every tracked mob of the level that is in an entity ticking chunk, and forgets mobs that were removed or unloaded.
+     */
+    public static void tick(ServerLevel level) {
+        Set<Mob> mobs = MOBS.get(level);
+        if (mobs != null && !mobs.isEmpty()) {
+            ticking = true;
+            try {
+                mobs.removeIf(mob -> {
+                    if (mob.isRemoved()) return true;
+                    if (mob.isNoAi() && mob.getTags().contains(MOVABLE) && level.isPositionEntityTicking(mob.blockPosition())) move(mob);
+                    return mob.isRemoved();
+                });
+            } finally {
+                ticking = false;
+            }
+        }
+        if (!PENDING.isEmpty()) {
+            List<Mob> pending = new ArrayList<>(PENDING);
+            PENDING.clear();
+            for (Mob mob : pending) {
+                if (!mob.isRemoved()) onEntityLoad(mob, (ServerLevel) mob.level);
+            }
+        }
+    }
+
+    /**
+     * Runs the mob's movement physics without letting the rest of its AI tick.
+     */
+    private static void move(Mob mob) {
+        mob.setNoAi(false);
+        mob.travel(new Vec3(mob.xxa, mob.zza, mob.yya));
+        mob.setNoAi(true);
+    }
+}
@@ -0,0 +1,36 @@
+package safro.zenith.spawn.spawner;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Remembers which fake light level last let an entity pass its spawn rules, per entity type and the state of the block below.<br>
+ * Spawners that ignore light try this level first, so a spawn attempt usually needs a single rule evaluation.
+ * Only accessed from the server thread.
+ */
+public class SpawnLightCache {
+
+    private static final Map<EntityType<?>, Object2IntMap<BlockState>> PASSING_LIGHT = new IdentityHashMap<>();
+
+    /**
+     * @return The last light level that passed the spawn rules, or -1 if none is known.
+     */
+    public static int getPassingLight(EntityType<?> type, BlockState below) {
+        Object2IntMap<BlockState> map = PASSING_LIGHT.get(type);
+        return map == null ? -1 : map.getInt(below);
+    }
+
+    public static void setPassingLight(EntityType<?> type, BlockState below, int light) {
+        PASSING_LIGHT.computeIfAbsent(type, t -> {
+            Object2IntMap<BlockState> map = new Object2IntOpenHashMap<>();
+            map.defaultReturnValue(-1);
+            return map;
+        }).put(below, light);
+    }
+
+}
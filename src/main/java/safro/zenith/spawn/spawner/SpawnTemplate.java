@@ -0,0 +1,41 @@
+package safro.zenith.spawn.spawner;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.SpawnData;
+
+/**
+ * Everything a spawner resolves from its {@link SpawnData} before a spawn attempt, computed once per spawn data.
+ */
+public class SpawnTemplate {
+
+    public final SpawnData data;
+    @Nullable
+    public final EntityType<?> type;
+    /**
+     * The number of coordinates fixed by the "Pos" list of the entity tag.
+     */
+    public final int fixedCoords;
+    public final double x, y, z;
+    /**
+     * The class of the spawned entity, which is only known once one has been loaded.
+     */
+    @Nullable
+    public Class<? extends Entity> entityClass;
+
+    public SpawnTemplate(SpawnData data) {
+        this.data = data;
+        CompoundTag tag = data.getEntityToSpawn();
+        this.type = EntityType.by(tag).orElse(null);
+        ListTag pos = tag.getList("Pos", 6);
+        this.fixedCoords = pos.size();
+        this.x = pos.getDouble(0);
+        this.y = pos.getDouble(1);
+        this.z = pos.getDouble(2);
+    }
+
+}
@@ -0,0 +1,145 @@
+package safro.zenith.spawn.spawner;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import safro.zenith.util.IBaseSpawner;
+
+/**
+ * Tracks spawners that are asleep because no player is in range or their redstone signal is off.<br>
+ * Sleeping spawners skip their tick entirely. They are woken when a player enters a chunk section near them,
+ * when a neighbour of the spawner changes, or after {@link #MAX_SLEEP} ticks as a fallback.<br>
+ * Only positions and ranges are stored, grouped by chunk, and they are dropped when their chunk or level unloads.
+ * Only accessed from the server thread.
+ */
+public class SpawnerScheduler {
+
+    /**
+     * The longest a spawner may sleep before it re-checks whether it is activated on its own.
+     */
+    public static final int MAX_SLEEP = 40;
+
+    private static final Map<ServerLevel, Sleepers> SLEEPING = new WeakHashMap<>();
+
+    /**
+     * Puts the spawner at the given position to sleep.
+     * @param range The required player range of the spawner.
+     */
+    public static void sleep(ServerLevel level, BlockPos pos, int range) {
+        Sleepers sleepers = SLEEPING.computeIfAbsent(level, l -> new Sleepers());
+        sleepers.chunks.computeIfAbsent(ChunkPos.asLong(pos), k -> new Long2IntOpenHashMap()).put(pos.asLong(), range);
+        sleepers.maxRange = Math.max(sleepers.maxRange, range);
+    }
+
+    /**
+     * Wakes the spawner at the given position, if it is asleep.
+     */
+    public static void wake(ServerLevel level, BlockPos pos) {
+        Sleepers sleepers = SLEEPING.get(level);
+        if (sleepers == null) return;
+        long chunk = ChunkPos.asLong(pos);
+        Long2IntMap sleeping = sleepers.chunks.get(chunk);
+        if (sleeping == null || !sleeping.containsKey(pos.asLong())) return;
+        sleeping.remove(pos.asLong());
+        if (sleeping.isEmpty()) sleepers.remove(chunk);
+        notify(level, pos);
+    }
+
+    /**
+     * Called when a player moves into a new chunk section. Wakes every spawner whose player range reaches that section.
+     * Only the chunks within the largest sleeping range of the section are visited.
+     */
+    public static void onPlayerSectionChanged(ServerLevel level, SectionPos section) {
+        Sleepers sleepers = SLEEPING.get(level);
+        if (sleepers == null || sleepers.chunks.isEmpty()) return;
+        int range = sleepers.maxRange;
+        int minCX = SectionPos.blockToSectionCoord(section.minBlockX() - range), maxCX = SectionPos.blockToSectionCoord(section.minBlockX() + 16 + range);
+        int minCZ = SectionPos.blockToSectionCoord(section.minBlockZ() - range), maxCZ = SectionPos.blockToSectionCoord(section.minBlockZ() + 16 + range);
+        LongArrayList woken = new LongArrayList();
+        if ((long) (maxCX - minCX + 1) * (maxCZ - minCZ + 1) > sleepers.chunks.size()) {
+            // Huge ranges cover more chunks than are tracked, so walk the tracked ones instead.
+            LongArrayList chunks = new LongArrayList(sleepers.chunks.keySet());
+            for (int i = 0; i < chunks.size(); i++) {
+                long chunk = chunks.getLong(i);
+                int cx = ChunkPos.getX(chunk), cz = ChunkPos.getZ(chunk);
+                if (cx >= minCX && cx <= maxCX && cz >= minCZ && cz <= maxCZ) collect(sleepers, chunk, section, woken);
+            }
+        } else {
+            for (int cx = minCX; cx <= maxCX; cx++) {
+                for (int cz = minCZ; cz <= maxCZ; cz++) {
+                    collect(sleepers, ChunkPos.asLong(cx, cz), section, woken);
+                }
+            }
+        }
+        BlockPos.MutableBlockPos mPos = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < woken.size(); i++) {
+            notify(level, mPos.set(woken.getLong(i)));
+        }
+    }
+
+    /**
+     * Removes the spawners of a chunk whose player range reaches the section, and adds their positions to the woken list.
+     */
+    private static void collect(Sleepers sleepers, long chunk, SectionPos section, LongArrayList woken) {
+        Long2IntMap sleeping = sleepers.chunks.get(chunk);
+        if (sleeping == null) return;
+        int minX = section.minBlockX(), minY = section.minBlockY(), minZ = section.minBlockZ();
+        ObjectIterator<Long2IntMap.Entry> it = sleeping.long2IntEntrySet().iterator();
+        while (it.hasNext()) {
+            Long2IntMap.Entry e = it.next();
+            long pos = e.getLongKey();
+            double x = BlockPos.getX(pos) + 0.5D, y = BlockPos.getY(pos) + 0.5D, z = BlockPos.getZ(pos) + 0.5D;
+            double dx = x - Math.max(minX, Math.min(x, minX + 16));
+            double dy = y - Math.max(minY, Math.min(y, minY + 16));
+            double dz = z - Math.max(minZ, Math.min(z, minZ + 16));
+            double range = e.getIntValue();
+            if (dx * dx + dy * dy + dz * dz <= range * range) {
+                it.remove();
+                woken.add(pos);
+            }
+        }
+        if (sleeping.isEmpty()) sleepers.remove(chunk);
+    }
+
+    /**
+     * Forgets the sleeping spawners of an unloading chunk. They are reset when loaded again, and go back to sleep on their own.
+     */
+    public static void onChunkUnload(ServerLevel level, ChunkPos pos) {
+        Sleepers sleepers = SLEEPING.get(level);
+        if (sleepers != null) sleepers.remove(pos.toLong());
+    }
+
+    public static void onLevelUnload(ServerLevel level) {
+        SLEEPING.remove(level);
+    }
+
+    private static void notify(ServerLevel level, BlockPos pos) {
+        if (level.isLoaded(pos) && level.getBlockEntity(pos) instanceof IBaseSpawner spawner) spawner.wakeSpawner();
+    }
+
+    private static class Sleepers {
+
+        private final Long2ObjectMap<Long2IntMap> chunks = new Long2ObjectOpenHashMap<>();
+
+        /**
+         * The largest player range of the sleeping spawners, reset once none are left.
+         */
+        private int maxRange;
+
+        private void remove(long chunk) {
+            this.chunks.remove(chunk);
+            if (this.chunks.isEmpty()) this.maxRange = 0;
+        }
+    }
+
+}
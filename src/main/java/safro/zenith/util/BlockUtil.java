@@ -17,9 +17,19 @@ import net.minecraft.world.level.material.FluidState;
 import safro.zenith.Zenith;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.function.BiConsumer;
 
 public class BlockUtil {
+    /**
+     * Fake players used to break blocks, reused per level and owner instead of being created per block.
+     */
+    private static final Map<ServerLevel, Map<UUID, FakePlayer>> FAKE_PLAYERS = new WeakHashMap<>();
+
     /**
      * Vanilla Copy: {@link } <br>
      * Attempts to harvest a block as if the player with the given uuid
@@ -31,10 +41,90 @@ public class BlockUtil {
      * @return If the block was successfully broken.
      */
     public static boolean breakExtraBlock(ServerLevel world, BlockPos pos, ItemStack mainhand, @Nullable UUID source) {
-        BlockState blockstate = world.getBlockState(pos);
-        FakePlayer player = new FakePlayer(world, new GameProfile(source, world.getPlayerByUUID(source).getDisplayName().getString()));
-        if (player.connection == null) player.connection = new DeadPacketListenerImpl(player);
+        FakePlayer player = acquireFakePlayer(world, mainhand, source);
+        try {
+            return breakExtraBlock(world, pos, player);
+        } finally {
+            releaseFakePlayer(player);
+        }
+    }
+
+    /**
+     * Attempts to harvest several blocks, as {@link #breakExtraBlock(ServerLevel, BlockPos, ItemStack, UUID)} does for one.
+     * Stops early if the tool breaks.
+     * @return The number of blocks that were broken.
+     */
+    public static int breakExtraBlocks(ServerLevel world, Collection<BlockPos> positions, ItemStack mainhand, @Nullable UUID source) {
+        return breakExtraBlocks(world, positions, mainhand, source, false);
+    }
+
+    /**
+     * Attempts to harvest several blocks, in iteration order.
+     * @param stopOnFailure If no further blocks should be attempted once one of them could not be broken.
+     * @return The number of blocks that were broken.
+     */
+    public static int breakExtraBlocks(ServerLevel world, Collection<BlockPos> positions, ItemStack mainhand, @Nullable UUID source, boolean stopOnFailure) {
+        return breakExtraBlocks(world, positions, mainhand, source, stopOnFailure, null);
+    }
+
+    /**
+     * Attempts to harvest several blocks, in iteration order.<br>
+     * Positions that are already air when their turn comes (ex. gravel that fell, or cactus that popped off) are skipped and not counted.
+     * @param stopOnFailure If no further blocks should be attempted once one of them could not be broken.
+     * @param onAttempt Called with each position and its state right before it is broken, or null.
+     * @return The number of blocks that were broken. When stopping on failure, one less than the number of attempts if a block failed.
+     */
+    public static int breakExtraBlocks(ServerLevel world, Collection<BlockPos> positions, ItemStack mainhand, @Nullable UUID source, boolean stopOnFailure, @Nullable BiConsumer<BlockPos, BlockState> onAttempt) {
+        FakePlayer player = acquireFakePlayer(world, mainhand, source);
+        int broken = 0;
+        try {
+            for (BlockPos pos : positions) {
+                if (mainhand.isEmpty()) break;
+                BlockState state = world.getBlockState(pos);
+                if (state.isAir()) continue;
+                if (onAttempt != null) onAttempt.accept(pos, state);
+                if (breakExtraBlock(world, pos, player)) broken++;
+                else if (stopOnFailure) break;
+            }
+        } finally {
+            releaseFakePlayer(player);
+        }
+        return broken;
+    }
+
+    /**
+     * Evicts the fake players of a level, when it is unloaded.
+     */
+    public static void onLevelUnload(ServerLevel world) {
+        FAKE_PLAYERS.remove(world);
+    }
+
+    private static FakePlayer acquireFakePlayer(ServerLevel world, ItemStack mainhand, @Nullable UUID source) {
+        FakePlayer player = FAKE_PLAYERS.computeIfAbsent(world, w -> new HashMap<>()).computeIfAbsent(source, uuid -> {
+            FakePlayer fake = new FakePlayer(world, new GameProfile(uuid, getOwnerName(world, uuid)));
+            if (fake.connection == null) fake.connection = new DeadPacketListenerImpl(fake);
+            return fake;
+        });
         player.getInventory().items.set(player.getInventory().selected, mainhand);
+        return player;
+    }
+
+    /**
+     * Clears the held item of a pooled fake player, so it does not keep the tool alive between uses.
+     */
+    private static void releaseFakePlayer(FakePlayer player) {
+        player.getInventory().items.set(player.getInventory().selected, ItemStack.EMPTY);
+    }
+
+    private static String getOwnerName(ServerLevel world, @Nullable UUID source) {
+        if (source == null) return "[" + Zenith.MODID + "]";
+        Player owner = world.getPlayerByUUID(source);
+        if (owner != null) return owner.getGameProfile().getName();
+        return world.getServer().getProfileCache().get(source).map(GameProfile::getName).orElse("[" + Zenith.MODID + "]");
+    }
+
+    private static boolean breakExtraBlock(ServerLevel world, BlockPos pos, FakePlayer player) {
+        BlockState blockstate = world.getBlockState(pos);
         player.setPos(pos.getX(), pos.getY(), pos.getZ());
 
         if (blockstate.getDestroySpeed(world, pos) < 0) return false;
@@ -0,0 +1,11 @@
+package safro.zenith.util;
+
+import safro.zenith.adventure.affix.AffixHelper;
+
+import javax.annotation.Nullable;
+
+public interface IAffixCacheHolder {
+    @Nullable
+    AffixHelper.CachedAffixes getCachedAffixes();
+    void setCachedAffixes(@Nullable AffixHelper.CachedAffixes affixes);
+}
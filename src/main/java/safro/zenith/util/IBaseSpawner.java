@@ -9,11 +9,14 @@ public interface IBaseSpawner {
     boolean getIgnoreLight();
     boolean getNoAi();
     boolean getSilent();
+    boolean getStackMobs();
     void setIgnoresPlayers(boolean flag);
     void setIgnoresConditions(boolean flag);
     void setRedstoneControl(boolean flag);
     void setIgnoreLight(boolean flag);
     void setNoAi(boolean flag);
     void setSilent(boolean flag);
+    void setStackMobs(boolean flag);
     BaseSpawner getSpawner();
+    void wakeSpawner();
 }
@@ -0,0 +1,12 @@
+package safro.zenith.util;
+
+import safro.zenith.adventure.affix.EquippedAffixes;
+
+import javax.annotation.Nullable;
+
+public interface IEquippedAffixHolder {
+    @Nullable
+    EquippedAffixes getEquippedAffixes();
+    boolean isEquipmentDirty();
+    void setEquippedAffixes(EquippedAffixes affixes);
+}
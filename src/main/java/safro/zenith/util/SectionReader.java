@@ -0,0 +1,44 @@
+package safro.zenith.util;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads block states straight from the sections of loaded chunks, remembering the last section used.
+ * Meant for scans that touch many nearby positions in one go. Positions in unloaded chunks or outside the build height read as air.
+ */
+public class SectionReader {
+    private final ServerLevel level;
+    private long sectionKey = Long.MIN_VALUE;
+    @Nullable
+    private LevelChunkSection section;
+
+    public SectionReader(ServerLevel level) {
+        this.level = level;
+    }
+
+    public BlockState getBlockState(BlockPos pos) {
+        return this.getBlockState(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public BlockState getBlockState(int x, int y, int z) {
+        int sx = SectionPos.blockToSectionCoord(x), sy = SectionPos.blockToSectionCoord(y), sz = SectionPos.blockToSectionCoord(z);
+        long key = SectionPos.asLong(sx, sy, sz);
+        if (key != this.sectionKey) {
+            this.sectionKey = key;
+            this.section = null;
+            LevelChunk chunk = this.level.getChunkSource().getChunkNow(sx, sz);
+            int index = this.level.getSectionIndexFromSectionY(sy);
+            if (chunk != null && index >= 0 && index < chunk.getSections().length) this.section = chunk.getSection(index);
+        }
+        if (this.section == null || this.section.hasOnlyAir()) return Blocks.AIR.defaultBlockState();
+        return this.section.getBlockState(x & 15, y & 15, z & 15);
+    }
+}
@@ -13,23 +13,32 @@ import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.projectile.AbstractArrow;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.gameevent.GameEvent;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.BlockHitResult;
-import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraft.world.phys.shapes.VoxelShape;
 import safro.zenith.Zenith;
 import safro.zenith.util.BlockUtil;
+import safro.zenith.util.SectionReader;
 import safro.zenith.village.VillageModule;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 public class MiningArrowEntity extends AbstractArrow implements ExtraSpawnDataEntity {
 
+	/**
+	 * The most blocks a single arrow may break.
+	 */
+	public static final int MAX_BLOCKS = 12;
+
 	protected int blocksBroken = 0;
 	protected UUID playerId = null;
 	protected ItemStack breakerItem = ItemStack.EMPTY;
@@ -113,14 +122,9 @@ public class MiningArrowEntity extends AbstractArrow implements ExtraSpawnDataEn
 			this.inGroundTime = 0;
 			Vec3 pos = this.position();
 			Vec3 posNextTick = pos.add(motion);
-			int iterations = 0;
-			while (!this.level.isClientSide && this.isAlive()) {
-				HitResult traceResult = this.level.clip(new ClipContext(pos, posNextTick, ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE, this));
-				if (traceResult.getType() == HitResult.Type.MISS) break;
-				else if (traceResult.getType() == HitResult.Type.BLOCK) {
-					this.onHit(traceResult);
-				}
-				if (iterations++ > 10) break; //Safeguard in case mods do weird stuff
+			if (!this.level.isClientSide) {
+				List<BlockPos> hits = this.collectHits(pos, posNextTick, MAX_BLOCKS - this.blocksBroken);
+				if (!hits.isEmpty()) this.breakBlocks(hits);
 			}
 
 			motion = this.getDeltaMovement();
@@ -205,11 +209,78 @@ public class MiningArrowEntity extends AbstractArrow implements ExtraSpawnDataEn
 		this.type = Type.values()[buf.readByte()];
 	}
 
+	/**
+	 * Walks the blocks crossed by the segment from start to end in order, reading them from the loaded chunk sections.
+	 * @return Up to max blocks whose collision shape the segment passes through, nearest first.
+	 */
+	protected List<BlockPos> collectHits(Vec3 start, Vec3 end, int max) {
+		List<BlockPos> hits = new ArrayList<>();
+		if (max <= 0) return hits;
+		SectionReader reader = new SectionReader((ServerLevel) this.level);
+		CollisionContext ctx = CollisionContext.of(this);
+		BlockPos.MutableBlockPos mPos = new BlockPos.MutableBlockPos();
+		double dX = end.x - start.x, dY = end.y - start.y, dZ = end.z - start.z;
+		int x = Mth.floor(start.x), y = Mth.floor(start.y), z = Mth.floor(start.z);
+		int endX = Mth.floor(end.x), endY = Mth.floor(end.y), endZ = Mth.floor(end.z);
+		int stepX = Mth.sign(dX), stepY = Mth.sign(dY), stepZ = Mth.sign(dZ);
+		// Fractions of the segment needed to cross one block, and to reach the next block boundary, on each axis.
+		double deltaX = stepX == 0 ? Double.MAX_VALUE : 1 / Math.abs(dX);
+		double deltaY = stepY == 0 ? Double.MAX_VALUE : 1 / Math.abs(dY);
+		double deltaZ = stepZ == 0 ? Double.MAX_VALUE : 1 / Math.abs(dZ);
+		double nextX = stepX == 0 ? Double.MAX_VALUE : deltaX * (stepX > 0 ? x + 1 - start.x : start.x - x);
+		double nextY = stepY == 0 ? Double.MAX_VALUE : deltaY * (stepY > 0 ? y + 1 - start.y : start.y - y);
+		double nextZ = stepZ == 0 ? Double.MAX_VALUE : deltaZ * (stepZ > 0 ? z + 1 - start.z : start.z - z);
+		while (true) {
+			BlockState state = reader.getBlockState(x, y, z);
+			if (!state.isAir()) {
+				VoxelShape shape = state.getCollisionShape(this.level, mPos.set(x, y, z), ctx);
+				if (shape == Shapes.block() || !shape.isEmpty() && shape.clip(start, end, mPos) != null) {
+					hits.add(mPos.immutable());
+					if (hits.size() >= max) break;
+				}
+			}
+			if (x == endX && y == endY && z == endZ) break;
+			if (nextX < nextY && nextX < nextZ) {
+				if (nextX > 1) break;
+				x += stepX;
+				nextX += deltaX;
+			} else if (nextY < nextZ) {
+				if (nextY > 1) break;
+				y += stepY;
+				nextY += deltaY;
+			} else {
+				if (nextZ > 1) break;
+				z += stepZ;
+				nextZ += deltaZ;
+			}
+		}
+		return hits;
+	}
+
+	/**
+	 * Breaks the given blocks in order, stopping at the first block that cannot be broken.
+	 */
+	protected void breakBlocks(List<BlockPos> positions) {
+		// Positions that turned to air since they were traced (falling sand, popped cactus) are skipped, as the arrow would have passed through them.
+		int[] attempts = { 0 };
+		int broken = BlockUtil.breakExtraBlocks((ServerLevel) this.level, positions, this.breakerItem, this.playerId, true, (pos, state) -> {
+			attempts[0]++;
+			this.level.gameEvent(GameEvent.PROJECTILE_LAND, pos, GameEvent.Context.of(this, state));
+		});
+		this.blocksBroken += broken;
+		if (broken < attempts[0] || this.breakerItem.isEmpty()) {
+			this.playSound(SoundEvents.ANVIL_PLACE, 1.0F, 1.5F / (this.random.nextFloat() * 0.2F + 0.9F));
+			this.discard();
+		} else if (this.blocksBroken >= MAX_BLOCKS) {
+			this.discard();
+		}
+	}
+
 	@SuppressWarnings("deprecation")
 	protected void breakBlock(BlockPos pos) {
 		if (!this.level.isClientSide && !this.level.getBlockState(pos).isAir()) {
 			if (BlockUtil.breakExtraBlock((ServerLevel) this.level, pos, this.breakerItem, this.playerId)) {
-				if (++this.blocksBroken >= 12) {
+				if (++this.blocksBroken >= MAX_BLOCKS) {
 					this.discard();
 				}
 			} else {
@@ -0,0 +1,86 @@
+package safro.zenith.ench;
+
+import org.junit.jupiter.api.Test;
+import safro.zenith.api.Expression;
+import safro.zenith.ench.EnchantmentInfo.ExpressionPowerFunc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks power functions against a direct BigDecimal evaluation of the same expression.
+ */
+public class ExpressionPowerFuncTest {
+
+    /**
+     * No power functions ship with the mod (the config defaults are empty), so these cover what configured ones are written with,
+     * including division, powers and non-integer constants whose results depend on the per-operation rounding.
+     */
+    private static final String[] FUNCTIONS = {
+        "0.29 * x * 100",
+        "x * 1.1 + 0.3",
+        "65 + 15 * x ^ 1.6",
+        "x ^ 2.5",
+        "2 ^ x",
+        "1.15 ^ x",
+        "x * x * x * 1.37",
+        "x ^ 2 / 3",
+        "x / 3 * 3",
+        "99999 * x / 7",
+        "100 / x",
+        "200 - 150 / x",
+        "sqrt(x) * 30",
+        "ceiling(x / 3) * 7",
+        "round(x * 1.75, 0)",
+        "log(x + 1) * 40"
+    };
+
+    /**
+     * Expressions whose intermediate results are all exactly representable as doubles, where the compiled form must agree.
+     */
+    private static final String[] EXACT_FUNCTIONS = {
+        "x",
+        "1 + 10 * x",
+        "x * 15 + 10",
+        "10 + 20 * (x - 1)",
+        "x ^ 3",
+        "floor(x * 2.5)",
+        "max(x * 12, 40)",
+        "min(x * 20, 150)",
+        "if(x > 5, 100 + 8 * x, 10 * x)",
+        "abs(50 - x * 3)",
+        "x % 7 + 30"
+    };
+
+    private static final int MAX_LEVEL = 127;
+
+    @Test
+    public void defaultMatchesBigDecimal() {
+        for (String[] functions : new String[][] { FUNCTIONS, EXACT_FUNCTIONS }) {
+            for (String func : functions) {
+                ExpressionPowerFunc power = new ExpressionPowerFunc(func, false);
+                for (int level = 1; level <= MAX_LEVEL; level++) {
+                    int x = level;
+                    assertEquals(eval(func, level), power.getPower(level), () -> func + " differs at level " + x);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void compiledMatchesBigDecimalOnExactArithmetic() {
+        for (String func : EXACT_FUNCTIONS) {
+            ExpressionPowerFunc power = new ExpressionPowerFunc(func, true);
+            for (int level = 1; level <= MAX_LEVEL; level++) {
+                int x = level;
+                assertEquals(eval(func, level), power.getPower(level), () -> func + " differs at level " + x);
+            }
+        }
+    }
+
+    private static int eval(String func, int level) {
+        return new Expression(func).setVariable("x", new BigDecimal(level)).eval().intValue();
+    }
+
+}
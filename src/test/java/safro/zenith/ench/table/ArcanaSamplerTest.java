@@ -0,0 +1,82 @@
+package safro.zenith.ench.table;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.core.Registry;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.util.RandomSource;
+import net.minecraft.util.random.WeightedRandom;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.EnchantmentInstance;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link ArcanaSampler} draws exactly what the list based selection it replaces drew for the same seed:
+ * {@link WeightedRandom#getRandomItem} over the remaining candidates, removing the ones incompatible with each pick.
+ */
+public class ArcanaSamplerTest {
+
+    private static final int RUNS = 2000;
+
+    @BeforeAll
+    public static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        EnchantmentCompatibility.rebuild();
+    }
+
+    @Test
+    public void matchesListSelection() {
+        List<Enchantment> all = new ArrayList<>();
+        Registry.ENCHANTMENT.forEach(all::add);
+        Random setup = new Random(0);
+        for (int run = 0; run < RUNS; run++) {
+            Collections.shuffle(all, setup);
+            List<EnchantmentInstance> candidates = new ArrayList<>();
+            for (Enchantment ench : all.subList(0, setup.nextInt(all.size() + 1))) {
+                candidates.add(new EnchantmentInstance(ench, 1 + setup.nextInt(ench.getMaxLevel())));
+            }
+            ZenithEnchantContainer.Arcana arcana = ZenithEnchantContainer.Arcana.values()[setup.nextInt(ZenithEnchantContainer.Arcana.values().length)];
+            boolean[] removeAfter = new boolean[candidates.size()];
+            for (int i = 0; i < removeAfter.length; i++) {
+                removeAfter[i] = setup.nextInt(4) != 0;
+            }
+            long seed = setup.nextLong();
+
+            List<RealEnchantmentHelper.ArcanaEnchantmentData> list = new ArrayList<>();
+            for (EnchantmentInstance inst : candidates) {
+                list.add(new RealEnchantmentHelper.ArcanaEnchantmentData(arcana, inst));
+            }
+            RandomSource listRand = RandomSource.create(seed);
+            RandomSource samplerRand = RandomSource.create(seed);
+            ArcanaSampler sampler = ArcanaSampler.get(arcana, candidates);
+            int currentRun = run;
+            for (int step = 0; step < removeAfter.length && !list.isEmpty(); step++) {
+                assertEquals(list.isEmpty(), sampler.isEmpty());
+                if (WeightedRandom.getTotalWeight(list) == 0) {
+                    assertThrows(NoSuchElementException.class, () -> sampler.next(samplerRand));
+                    break;
+                }
+                EnchantmentInstance expected = WeightedRandom.getRandomItem(listRand, list).get().data;
+                EnchantmentInstance actual = sampler.next(samplerRand);
+                int currentStep = step;
+                assertSame(expected, actual, () -> "Run " + currentRun + " differs at draw " + currentStep);
+                if (removeAfter[step]) {
+                    list.removeIf(d -> !expected.enchantment.isCompatibleWith(d.data.enchantment));
+                    sampler.removeIncompatible(expected.enchantment);
+                }
+            }
+            assertEquals(list.isEmpty(), sampler.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package safro.zenith.ench.table;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.core.Registry;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.EnchantmentInstance;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks that {@link EnchantmentIndex} gives the same results as the linear registry scan it replaces.
+ */
+public class EnchantmentIndexTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void matchesScan() {
+        EnchantmentIndex.rebuild();
+        EnchantmentIndex index = EnchantmentIndex.get();
+        assertNotNull(index);
+        // Past the precomputed range, levels are computed on demand.
+        int maxPower = index.getMaxPower() + 64;
+        for (Item item : Registry.ITEM) {
+            ItemStack plain = new ItemStack(item);
+            ItemStack tagged = new ItemStack(item);
+            tagged.getOrCreateTag().putBoolean("zenith_test", true);
+            for (ItemStack stack : new ItemStack[] { plain, tagged }) {
+                for (int i = 0; i <= maxPower; i++) {
+                    int power = i;
+                    for (boolean treasure : new boolean[] { false, true }) {
+                        List<String> scanned = describe(RealEnchantmentHelper.scanAvailableEnchantmentResults(power, stack, treasure));
+                        List<String> indexed = describe(index.getAvailableResults(power, stack, treasure));
+                        assertEquals(scanned, indexed, () -> stack + " differs at power " + power + " (treasure: " + treasure + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> describe(List<EnchantmentInstance> list) {
+        List<String> out = new ArrayList<>(list.size());
+        for (EnchantmentInstance inst : list) {
+            out.add(Registry.ENCHANTMENT.getKey(inst.enchantment) + "@" + inst.level);
+        }
+        return out;
+    }
+}